@@ -0,0 +1,95 @@
+package bench;
+
+import algorithm.BidirectionalDijkstraSolver;
+import algorithm.DijkstraSolver;
+import model.CsrGraph;
+import model.Vertex;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Latência (AverageTime) e vazão (Throughput) de consultas ponto-a-ponto.
+// Cada invocação responde uma consulta de uma lista fixa de pares aleatórios.
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx12g"})
+@State(Scope.Benchmark)
+public class DijkstraBenchmark {
+
+    private static final int QUERY_COUNT = 256;
+
+    @Param({"RANDOM_SPARSE", "GRID", "SCALE_FREE"})
+    public GraphFamilies family;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int edges;
+
+    // Só usado pela família ROAD
+    @Param({""})
+    public String roadFile;
+
+    @Param({"42"})
+    public long seed;
+
+    private List<Vertex> vertices;
+    private CsrGraph csr;
+    private Vertex[] sources;
+    private Vertex[] targets;
+    private int[] csrSources;
+    private int[] csrTargets;
+    private DijkstraSolver solver;
+    private BidirectionalDijkstraSolver bidirectional;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        vertices = family.build(edges, seed, roadFile);
+        csr = CsrGraph.of(vertices);
+        // Construtores padrão (pool compartilhado), como a aplicação usa: a alocação medida pelo
+        // profiler gc é a real, sem um pool feito sob medida para o benchmark
+        solver = new DijkstraSolver();
+        bidirectional = new BidirectionalDijkstraSolver();
+        csr.transpose();
+
+        Random rand = new Random(seed + 1);
+        sources = new Vertex[QUERY_COUNT];
+        targets = new Vertex[QUERY_COUNT];
+        csrSources = new int[QUERY_COUNT];
+        csrTargets = new int[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            sources[i] = vertices.get(rand.nextInt(vertices.size()));
+            targets[i] = vertices.get(rand.nextInt(vertices.size()));
+            csrSources[i] = csr.indexOf(sources[i]);
+            csrTargets[i] = csr.indexOf(targets[i]);
+        }
+    }
+
+    private int nextQuery() {
+        int q = next;
+        next = (q + 1) & (QUERY_COUNT - 1);
+        return q;
+    }
+
+    @Benchmark
+    public List<Vertex> objectGraph() {
+        int q = nextQuery();
+        return solver.findShortestPath(sources[q], targets[q]);
+    }
+
+    @Benchmark
+    public int[] csrGraph() {
+        int q = nextQuery();
+        return solver.findShortestPath(csr, csrSources[q], csrTargets[q]);
+    }
+
+    @Benchmark
+    public int[] csrBidirectional() {
+        int q = nextQuery();
+        return bidirectional.findShortestPath(csr, csrSources[q], csrTargets[q]);
+    }
+}
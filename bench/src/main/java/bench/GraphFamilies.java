@@ -0,0 +1,107 @@
+package bench;
+
+import io.GraphImporter;
+import model.Graph;
+import model.Vertex;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Famílias de grafos usadas nos benchmarks. Todas recebem o número aproximado de arestas
+// desejado e uma semente, para que cada execução meça exatamente o mesmo grafo.
+public enum GraphFamilies {
+
+    // Mesmo modelo do botão "Gerar Grafo": cada vértice liga em 1 ou 2 vizinhos, peso 1 a 20
+    RANDOM_SPARSE {
+        @Override
+        public List<Vertex> build(int edges, long seed, String file) {
+            Random rand = new Random(seed);
+            List<Vertex> vertices = createVertices(Math.max(2, (int) (edges / 1.5)));
+            int n = vertices.size();
+            for (Vertex u : vertices) {
+                int connections = 1 + rand.nextInt(2);
+                for (int j = 0; j < connections; j++) {
+                    Vertex v = vertices.get(rand.nextInt(n));
+                    if (u != v) u.addEdge(v, 1 + rand.nextInt(20));
+                }
+            }
+            return vertices;
+        }
+    },
+
+    // Grade quadrada com vizinhança de 4 nas duas direções
+    GRID {
+        @Override
+        public List<Vertex> build(int edges, long seed, String file) {
+            Random rand = new Random(seed);
+            int side = Math.max(2, (int) Math.sqrt(edges / 4.0));
+            List<Vertex> vertices = createVertices(side * side);
+            for (int r = 0; r < side; r++) {
+                for (int c = 0; c < side; c++) {
+                    Vertex u = vertices.get(r * side + c);
+                    if (c + 1 < side) link(u, vertices.get(r * side + c + 1), 1 + rand.nextInt(20));
+                    if (r + 1 < side) link(u, vertices.get((r + 1) * side + c), 1 + rand.nextInt(20));
+                }
+            }
+            return vertices;
+        }
+    },
+
+    // Barabási–Albert: cada vértice novo se liga a 2 antigos escolhidos proporcionalmente ao grau
+    SCALE_FREE {
+        @Override
+        public List<Vertex> build(int edges, long seed, String file) {
+            Random rand = new Random(seed);
+            int m = 2;
+            List<Vertex> vertices = createVertices(Math.max(m + 1, edges / (2 * m)));
+            int n = vertices.size();
+
+            int[] endpoints = new int[2 * m * n];
+            int count = 0;
+            for (int i = 0; i <= m; i++) {
+                for (int j = 0; j < i; j++) {
+                    link(vertices.get(i), vertices.get(j), 1 + rand.nextInt(20));
+                    endpoints[count++] = i;
+                    endpoints[count++] = j;
+                }
+            }
+            for (int i = m + 1; i < n; i++) {
+                int limit = count;
+                for (int k = 0; k < m; k++) {
+                    int j = endpoints[rand.nextInt(limit)];
+                    link(vertices.get(i), vertices.get(j), 1 + rand.nextInt(20));
+                    endpoints[count++] = i;
+                    endpoints[count++] = j;
+                }
+            }
+            return vertices;
+        }
+    },
+
+    // Rede viária real no formato DIMACS (.gr), informada pelo parâmetro roadFile
+    ROAD {
+        @Override
+        public List<Vertex> build(int edges, long seed, String file) throws IOException {
+            if (file == null || file.isBlank()) {
+                throw new IllegalArgumentException("Família ROAD precisa de -p roadFile=<arquivo .gr>");
+            }
+            return new GraphImporter().readDimacs(Path.of(file)).toVertices();
+        }
+    };
+
+    public abstract List<Vertex> build(int edges, long seed, String file) throws IOException;
+
+    private static List<Vertex> createVertices(int n) {
+        Graph graph = new Graph();
+        for (int i = 0; i < n; i++) graph.addVertex("No " + i);
+        return new ArrayList<>(graph.getVertices());
+    }
+
+    private static void link(Vertex a, Vertex b, double weight) {
+        a.addEdge(b, weight);
+        b.addEdge(a, weight);
+    }
+}
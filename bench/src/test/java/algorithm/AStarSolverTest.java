@@ -0,0 +1,75 @@
+package algorithm;
+
+import model.Graph;
+import model.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A* com heurística geométrica deve achar sempre o mesmo custo que o Dijkstra
+class AStarSolverTest {
+
+    @Test
+    void matchesDijkstraWhenSomeVertexHasNoPosition() {
+        Random random = new Random(5);
+        for (int round = 0; round < 40; round++) {
+            List<Vertex> vertices = randomGraph(random, 60);
+            // v0 sem posição: a escala vira 0 e o A* precisa se comportar como Dijkstra
+            vertices.get(0).setPosition(Double.NaN, Double.NaN);
+            compare(random, vertices, Heuristics.euclidean(vertices));
+            compare(random, vertices, Heuristics.manhattan(vertices));
+        }
+    }
+
+    @Test
+    void matchesDijkstraWithVertexOutsideTheCalibratedCollection() {
+        Random random = new Random(6);
+        for (int round = 0; round < 40; round++) {
+            List<Vertex> vertices = randomGraph(random, 60);
+            // Escala calculada antes do vértice sem posição entrar no grafo. Ele só recebe arestas:
+            // saindo dele viraria um atalho sem comprimento conhecido, que nenhuma escala cobre
+            Heuristic euclidean = Heuristics.euclidean(vertices);
+            Heuristic manhattan = Heuristics.manhattan(vertices);
+            Vertex loose = vertices.get(0).getGraph().addVertex("solto");
+            for (int k = 0; k < 4; k++) {
+                vertices.get(random.nextInt(vertices.size())).addEdge(loose, 1 + random.nextInt(20));
+            }
+            vertices.add(loose);
+            compare(random, vertices, euclidean);
+            compare(random, vertices, manhattan);
+        }
+    }
+
+    private static void compare(Random random, List<Vertex> vertices, Heuristic heuristic) {
+        AStarSolver astar = new AStarSolver(heuristic);
+        DijkstraSolver dijkstra = new DijkstraSolver();
+        for (int q = 0; q < 50; q++) {
+            Vertex start = vertices.get(random.nextInt(vertices.size()));
+            Vertex end = vertices.get(random.nextInt(vertices.size()));
+            PathResult expected = dijkstra.findPath(start, end);
+            PathResult actual = astar.findPath(start, end);
+            assertEquals(expected.isFound(), actual.isFound(), start + " -> " + end);
+            assertEquals(expected.distance(), actual.distance(), 1e-9, start + " -> " + end);
+        }
+    }
+
+    // Pesos 1..20 sem relação com a distância na tela, como o gerador da interface
+    private static List<Vertex> randomGraph(Random random, int n) {
+        Graph graph = new Graph();
+        List<Vertex> vertices = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            vertices.add(graph.addVertex("No " + i, random.nextDouble() * 800, random.nextDouble() * 500));
+        }
+        for (Vertex u : vertices) {
+            for (int j = 1 + random.nextInt(3); j > 0; j--) {
+                Vertex v = vertices.get(random.nextInt(n));
+                if (v != u) u.addEdge(v, 1 + random.nextInt(20));
+            }
+        }
+        return vertices;
+    }
+}
@@ -0,0 +1,98 @@
+package algorithm;
+
+import model.Edge;
+import model.Graph;
+import model.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Consultas no grafo de objetos com pesos inteiros vão para a fila de baldes; o custo tem que
+// ser o mesmo do heap (o A* com heurística zero nunca usa baldes)
+class BucketQueueSolverTest {
+
+    @Test
+    void objectGraphMatchesHeapWithSmallWeights() {
+        compareOnRandomGraphs(new Random(7), 20);
+    }
+
+    @Test
+    void objectGraphMatchesHeapWithLargeWeights() {
+        // Acima de DIAL_MAX_WEIGHT: radix heap
+        compareOnRandomGraphs(new Random(8), 5_000_000);
+    }
+
+    @Test
+    void graphTracksIntegralWeights() {
+        Graph graph = new Graph();
+        Vertex a = graph.addVertex("a");
+        Vertex b = graph.addVertex("b");
+        Edge edge = a.addEdge(b, 3);
+        assertTrue(graph.hasIntegralWeights());
+        assertEquals(3.0, graph.maxWeight());
+
+        edge.setWeight(2.5);
+        assertFalse(graph.hasIntegralWeights());
+        edge.setWeight(70_000);
+        assertTrue(graph.hasIntegralWeights());
+        assertEquals(70_000.0, graph.maxWeight());
+
+        Edge fractional = b.addEdge(a, 0.5);
+        assertFalse(graph.hasIntegralWeights());
+        b.removeEdge(fractional);
+        assertTrue(graph.hasIntegralWeights());
+        // Aresta fora do grafo não conta mais
+        fractional.setWeight(0.25);
+        assertTrue(graph.hasIntegralWeights());
+
+        // Vértice solto com aresta fracionária, absorvido ao ser ligado ao grafo
+        Vertex loose = new Vertex("solto");
+        loose.addEdge(new Vertex("outro"), 1.5);
+        a.addEdge(loose, 1);
+        assertFalse(graph.hasIntegralWeights());
+
+        graph.removeVertex(loose);
+        assertTrue(graph.hasIntegralWeights());
+    }
+
+    private static void compareOnRandomGraphs(Random random, int maxWeight) {
+        DijkstraSolver dijkstra = new DijkstraSolver();
+        AStarSolver heap = new AStarSolver(Heuristics.zero());
+        for (int round = 0; round < 30; round++) {
+            Graph graph = new Graph();
+            List<Vertex> vertices = new ArrayList<>();
+            for (int i = 0; i < 80; i++) vertices.add(graph.addVertex("No " + i));
+            for (Vertex u : vertices) {
+                for (int j = 1 + random.nextInt(3); j > 0; j--) {
+                    // Inclui pesos 0 e empates
+                    u.addEdge(vertices.get(random.nextInt(vertices.size())), random.nextInt(maxWeight + 1));
+                }
+            }
+            assertTrue(graph.hasIntegralWeights());
+
+            for (int q = 0; q < 50; q++) {
+                Vertex start = vertices.get(random.nextInt(vertices.size()));
+                Vertex end = vertices.get(random.nextInt(vertices.size()));
+                PathResult expected = heap.findPath(start, end);
+                PathResult actual = dijkstra.findPath(start, end);
+                assertEquals(expected.isFound(), actual.isFound(), start + " -> " + end);
+                assertEquals(expected.distance(), actual.distance(), start + " -> " + end);
+                assertEquals(actual.distance(), cost(actual), start + " -> " + end);
+            }
+        }
+    }
+
+    // Soma das arestas devolvidas: o caminho tem que ser coerente com a distância
+    private static double cost(PathResult path) {
+        if (!path.isFound()) return Double.POSITIVE_INFINITY;
+        double total = 0;
+        for (Edge edge : path.edges()) total += edge.getWeight();
+        return total;
+    }
+}
@@ -0,0 +1,82 @@
+package algorithm;
+
+import model.CsrGraph;
+import model.Graph;
+import model.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Consultas na CH (distância e caminho desempacotado) contra o Dijkstra comum no mesmo grafo
+class ContractionHierarchyTest {
+
+    @Test
+    void matchesDijkstraWithSmallIntegerWeights() {
+        // Pesos 0..3: muitas arestas de peso 0, empates e atalhos substituídos
+        compareOnRandomGraphs(new Random(11), 3, false);
+    }
+
+    @Test
+    void matchesDijkstraWithFractionalWeights() {
+        compareOnRandomGraphs(new Random(12), 10, true);
+    }
+
+    private static void compareOnRandomGraphs(Random random, int maxWeight, boolean fractional) {
+        DijkstraSolver dijkstra = new DijkstraSolver();
+        for (int round = 0; round < 40; round++) {
+            int n = 10 + random.nextInt(60);
+            CsrGraph graph = CsrGraph.of(randomGraph(random, n, maxWeight, fractional));
+            ContractionHierarchy hierarchy = ContractionHierarchy.build(graph, ForkJoinPool.commonPool());
+
+            for (int q = 0; q < 100; q++) {
+                int s = random.nextInt(graph.vertexCount());
+                int t = random.nextInt(graph.vertexCount());
+                double expected = dijkstra.shortestDistance(graph, s, t);
+                assertEquals(expected, hierarchy.distance(s, t), 1e-9, s + " -> " + t);
+
+                int[] path = hierarchy.findShortestPath(s, t);
+                if (expected == Double.POSITIVE_INFINITY) {
+                    assertEquals(0, path.length, s + " -> " + t);
+                } else {
+                    assertEquals(s, path[0]);
+                    assertEquals(t, path[path.length - 1]);
+                    assertEquals(expected, cost(graph, path), 1e-9, s + " -> " + t);
+                }
+            }
+        }
+    }
+
+    // Custo do caminho pelas arestas originais (a mais barata entre paralelas)
+    private static double cost(CsrGraph graph, int[] path) {
+        double total = 0;
+        for (int i = 0; i + 1 < path.length; i++) {
+            double best = Double.POSITIVE_INFINITY;
+            for (int e = graph.firstEdge(path[i]), last = graph.endEdge(path[i]); e < last; e++) {
+                if (graph.target(e) == path[i + 1]) best = Math.min(best, graph.weight(e));
+            }
+            assertTrue(best < Double.POSITIVE_INFINITY, "aresta inexistente no caminho desempacotado");
+            total += best;
+        }
+        return total;
+    }
+
+    // Com laços e arestas paralelas, que a CH descarta ou reduz à mais barata
+    private static List<Vertex> randomGraph(Random random, int n, int maxWeight, boolean fractional) {
+        Graph graph = new Graph();
+        List<Vertex> vertices = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) vertices.add(graph.addVertex("No " + i));
+        for (Vertex u : vertices) {
+            for (int j = random.nextInt(4); j > 0; j--) {
+                double weight = fractional ? random.nextDouble() * maxWeight : random.nextInt(maxWeight + 1);
+                u.addEdge(vertices.get(random.nextInt(n)), weight);
+            }
+        }
+        return vertices;
+    }
+}
@@ -0,0 +1,49 @@
+package io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pesos que quebrariam os solvers são recusados na leitura, com a posição no arquivo
+class GraphImporterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rejectsNegativeAndNonFiniteWeights() throws IOException {
+        GraphImporter importer = new GraphImporter();
+        assertRejected(() -> importer.readDimacs(write("a.gr", "p sp 2 1\na 1 2 -3\n")), "byte 9");
+        assertRejected(() -> importer.readDimacs(write("b.gr", "p sp 2 1\na 1 2 NaN\n")), "byte 9");
+        assertRejected(() -> importer.readEdgeList(write("c.csv", "0,1,2\n1,0,Infinity\n")), "byte 6");
+        assertRejected(() -> importer.readOsm(write("d.osm", "n 1 10 20\nn 2 NaN 20\nw 5 0 1 2\n")), "byte 10");
+    }
+
+    @Test
+    void acceptsValidWeights() throws IOException {
+        ImportedGraph graph = new GraphImporter().readEdgeList(write("e.csv", "0 1 2.5\n1 0 0\n1 2\n"));
+        assertEquals(3, graph.graph().edgeCount());
+        assertEquals(2.5, graph.graph().maxWeight());
+    }
+
+    private interface Read {
+        void run() throws IOException;
+    }
+
+    private static void assertRejected(Read read, String position) {
+        IOException failure = assertThrows(IOException.class, read::run);
+        assertTrue(failure.getMessage().contains("peso") || failure.getMessage().contains("finito"), failure.getMessage());
+        assertTrue(failure.getMessage().contains(position), failure.getMessage());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content);
+    }
+}
@@ -0,0 +1,104 @@
+package algorithm;
+
+import model.Edge;
+import model.Vertex;
+
+import java.util.*;
+
+// A*: mesmo laço do Dijkstra, mas a fila é ordenada por g(v) + h(v), onde h estima o que falta
+// até o destino. Com uma heurística consistente a busca "puxa" na direção de 'end' e finaliza
+// bem menos vértices. Emite os mesmos eventos do DijkstraListener, então a animação não muda.
+public class AStarSolver {
+
+    private DijkstraListener listener;
+    private Heuristic heuristic;
+    private final WorkspacePool pool;
+
+    public AStarSolver(Heuristic heuristic) {
+        this(heuristic, WorkspacePool.shared());
+    }
+
+    public AStarSolver(Heuristic heuristic, WorkspacePool pool) {
+        this.heuristic = heuristic;
+        this.pool = pool;
+    }
+
+    public void setListener(DijkstraListener listener) {
+        this.listener = listener;
+    }
+
+    public void setHeuristic(Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    public List<Vertex> findShortestPath(Vertex start, Vertex end) {
+        return new ArrayList<>(findPath(start, end).vertices());
+    }
+
+    // Caminho com custo, arestas exatas e número de saltos
+    public PathResult findPath(Vertex start, Vertex end) {
+        // Arestas não cruzam grafos: vértices de grafos diferentes nunca se ligam
+        if (start.getGraph() != end.getGraph()) return PathResult.notFound(start, end, StopReason.EXHAUSTED);
+        int capacity = start.getGraph().vertexCount();
+        // Máscara lida uma vez: eventos não pedidos custam só um teste de boolean
+        DijkstraListener listener = this.listener;
+        int mask = listener == null ? 0 : listener.eventMask();
+        boolean visiting = (mask & DijkstraListener.VERTEX_VISITING) != 0;
+        boolean finalized = (mask & DijkstraListener.VERTEX_FINALIZED) != 0;
+        boolean relaxed = (mask & DijkstraListener.EDGE_RELAXED) != 0;
+        boolean rejected = (mask & DijkstraListener.EDGE_REJECTED) != 0;
+
+        SearchWorkspace ws = pool.acquire(capacity);
+        try {
+            // ws.distance = g(v), custo real desde 'start'; ws.estimate = h(v), calculado uma vez por vértice
+            IndexedHeap queue = ws.heap();
+
+            ws.update(start.getId(), 0.0, -1);
+            ws.setVertex(start.getId(), start);
+            ws.setEstimate(start.getId(), heuristic.estimate(start, end));
+            queue.add(start.getId(), ws.estimate(start.getId()));
+
+            while (!queue.isEmpty()) {
+                int currentId = queue.poll();
+                Vertex current = ws.vertex(currentId);
+
+                if (visiting) listener.onVertexVisiting(current);
+
+                if (current.equals(end)) {
+                    if (finalized) listener.onVertexFinalized(current);
+                    break;
+                }
+
+                double currentDist = ws.distance(currentId);
+                List<Edge> edges = current.getEdges();
+                for (int i = 0, size = edges.size(); i < size; i++) {
+                    Edge edge = edges.get(i);
+                    Vertex neighbor = edge.getTarget();
+                    int id = neighbor.getId();
+                    double newDist = currentDist + edge.getWeight();
+
+                    // Vértice criado depois do início da busca: cresce o workspace
+                    if (id >= ws.capacity()) ws.ensureCapacity(id + 1);
+
+                    if (newDist < ws.distance(id)) {
+                        if (relaxed) listener.onEdgeRelaxed(edge, newDist);
+                        if (!ws.visited(id)) {
+                            ws.setVertex(id, neighbor);
+                            ws.setEstimate(id, heuristic.estimate(neighbor, end));
+                        }
+                        ws.update(id, newDist, currentId);
+                        ws.setParentEdge(id, edge);
+                        queue.addOrDecrease(id, newDist + ws.estimate(id));
+                    } else if (rejected) {
+                        listener.onEdgeRejected(edge, newDist);
+                    }
+                }
+                if (finalized) listener.onVertexFinalized(current);
+            }
+
+            return PathResult.fromWorkspace(ws, start, end);
+        } finally {
+            pool.release(ws);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package algorithm;
+
+import model.IndexedGraph;
+import model.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Responde lotes de consultas (origem, destino) independentes em paralelo, com o resultado i
+// correspondendo à consulta i. Cada lote sobe 'parallelism' tarefas no executor; cada tarefa pega
+// um DijkstraSolver só seu (com workspace próprio, sem lock compartilhado por consulta) e vai
+// tirando blocos de consultas de um contador atômico até acabar. Os solvers voltam para a
+// engine e são reaproveitados nos lotes seguintes, então os workspaces ficam quentes.
+// O grafo precisa ficar só leitura enquanto um lote roda.
+public final class BatchQueryEngine implements AutoCloseable {
+
+    // Consultas por bloco, no máximo: blocos pequenos equilibram a carga, grandes reduzem o contador
+    private static final int MAX_GRAIN = 64;
+
+    public record Query(Vertex start, Vertex end) {}
+
+    private interface Body {
+        void run(DijkstraSolver solver, int index);
+    }
+
+    private final Executor executor;
+    private final ExecutorService owned;     // fechado em close(); null se o executor é de quem chamou
+    private final int parallelism;
+    private final ConcurrentLinkedQueue<DijkstraSolver> idle = new ConcurrentLinkedQueue<>();
+    private volatile SolverMetrics metrics;
+
+    // Executor de quem chama (ex.: um ForkJoinPool já existente); não é fechado pela engine
+    public BatchQueryEngine(Executor executor, int parallelism) {
+        this(executor, null, parallelism);
+    }
+
+    private BatchQueryEngine(Executor executor, ExecutorService owned, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Paralelismo deve ser >= 1");
+        this.executor = executor;
+        this.owned = owned;
+        this.parallelism = parallelism;
+    }
+
+    // Threads de plataforma próprias (daemon), uma por núcleo informado
+    public static BatchQueryEngine withPlatformThreads(int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("batch-query-", 0).daemon().factory());
+        return new BatchQueryEngine(executor, executor, threads);
+    }
+
+    // Uma thread virtual por tarefa; o paralelismo real é o do escalonador de threads virtuais
+    public static BatchQueryEngine withVirtualThreads(int parallelism) {
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("batch-query-", 0).factory());
+        return new BatchQueryEngine(executor, executor, parallelism);
+    }
+
+    public int parallelism() { return parallelism; }
+
+    // Acumula as estatísticas de todas as consultas (SolverMetrics já é seguro entre threads).
+    // Vale a partir do próximo lote: cada tarefa lê o valor atual ao pegar o seu solver
+    public void setMetrics(SolverMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // --- Grafo de objetos ---
+
+    public List<PathResult> findPaths(List<Query> queries) {
+        PathResult[] results = new PathResult[queries.size()];
+        run(results.length, (solver, i) -> {
+            Query query = queries.get(i);
+            results[i] = solver.findPath(query.start(), query.end());
+        });
+        return Arrays.asList(results);
+    }
+
+    public List<PathResult> findPaths(List<Query> queries, SearchLimits limits) {
+        PathResult[] results = new PathResult[queries.size()];
+        run(results.length, (solver, i) -> {
+            Query query = queries.get(i);
+            results[i] = solver.findPath(query.start(), query.end(), limits);
+        });
+        return Arrays.asList(results);
+    }
+
+    // --- Grafo por índices (CsrGraph, MappedGraph) ---
+
+    // distances[i] = custo de sources[i] até targets[i] (infinito se inalcançável)
+    public double[] distances(IndexedGraph graph, int[] sources, int[] targets) {
+        checkPairs(sources, targets);
+        double[] results = new double[sources.length];
+        run(results.length, (solver, i) -> results[i] = solver.shortestDistance(graph, sources[i], targets[i]));
+        return results;
+    }
+
+    // paths[i] = índices do caminho de sources[i] até targets[i] (vazio se inalcançável)
+    public int[][] paths(IndexedGraph graph, int[] sources, int[] targets) {
+        checkPairs(sources, targets);
+        int[][] results = new int[sources.length][];
+        run(results.length, (solver, i) -> results[i] = solver.findShortestPath(graph, sources[i], targets[i]));
+        return results;
+    }
+
+    @Override
+    public void close() {
+        if (owned != null) owned.close();
+        idle.clear();
+    }
+
+    private void run(int count, Body body) {
+        if (count == 0) return;
+        int workers = Math.min(parallelism, count);
+        int grain = Math.max(1, Math.min(MAX_GRAIN, count / (workers * 8)));
+        AtomicInteger next = new AtomicInteger();
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                DijkstraSolver solver = borrow();
+                try {
+                    for (int from; (from = next.getAndAdd(grain)) < count; ) {
+                        int to = Math.min(count, from + grain);
+                        for (int i = from; i < to; i++) body.run(solver, i);
+                    }
+                } finally {
+                    idle.offer(solver);
+                }
+            }, executor));
+        }
+
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException failed) {
+            if (failed.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (failed.getCause() instanceof Error error) throw error;
+            throw failed;
+        }
+    }
+
+    private DijkstraSolver borrow() {
+        DijkstraSolver solver = idle.poll();
+        if (solver == null) {
+            // Pool próprio de um workspace só: o lock dele nunca é disputado, e o workspace fica
+            // guardado mesmo grande (o pool sempre guarda um), pois a engine o reaproveita no próximo lote
+            solver = new DijkstraSolver(new WorkspacePool(1));
+        }
+        // Sempre o atual: um solver que estava em uso durante setMetrics ainda tem o antigo
+        solver.setMetrics(metrics);
+        return solver;
+    }
+
+    private static void checkPairs(int[] sources, int[] targets) {
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("sources e targets devem ter o mesmo tamanho");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package algorithm;
+
+import model.CsrGraph;
+import model.Vertex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Dijkstra bidirecional para consultas ponto-a-ponto: uma busca sai de 'start' no grafo normal
+// e outra sai de 'end' no grafo transposto. As duas bolas se encontram no meio, então cada uma
+// explora bem menos vértices que uma busca unidirecional até 'end'.
+public class BidirectionalDijkstraSolver {
+
+    private final WorkspacePool pool;
+
+    public BidirectionalDijkstraSolver() {
+        this(WorkspacePool.shared());
+    }
+
+    public BidirectionalDijkstraSolver(WorkspacePool pool) {
+        this.pool = pool;
+    }
+
+    public List<Vertex> findShortestPath(CsrGraph graph, Vertex start, Vertex end) {
+        int s = graph.indexOf(start);
+        int t = graph.indexOf(end);
+        if (s < 0 || t < 0) return new ArrayList<>();
+
+        int[] path = findShortestPath(graph, s, t);
+        List<Vertex> result = new ArrayList<>(path.length);
+        for (int v : path) result.add(graph.vertex(v));
+        return result;
+    }
+
+    // Retorna os índices dos vértices do caminho (vazio se 'end' for inalcançável)
+    public int[] findShortestPath(CsrGraph graph, int start, int end) {
+        if (start == end) return new int[] { start };
+
+        CsrGraph reverse = graph.transpose();
+        int n = graph.vertexCount();
+
+        // ws.parent na busca direta = predecessor; na busca reversa = sucessor rumo a 'end'
+        SearchWorkspace forwardWs = pool.acquire(n);
+        SearchWorkspace backwardWs = pool.acquire(n);
+        try {
+            IndexedHeap forward = forwardWs.heap();
+            IndexedHeap backward = backwardWs.heap();
+
+            forwardWs.update(start, 0.0, -1);
+            backwardWs.update(end, 0.0, -1);
+            forward.add(start, 0.0);
+            backward.add(end, 0.0);
+
+            double best = Double.POSITIVE_INFINITY; // melhor caminho completo já visto (mu)
+            int meeting = -1;
+
+            while (!forward.isEmpty() && !backward.isEmpty()) {
+                // Critério de parada: nenhum caminho ainda não visto pode ser menor que 'best'
+                if (forward.peekPriority() + backward.peekPriority() >= best) break;
+
+                // Expande o lado com a menor fronteira, equilibrando o trabalho entre as buscas
+                boolean isForward = forward.size() <= backward.size();
+                CsrGraph side = isForward ? graph : reverse;
+                SearchWorkspace ws = isForward ? forwardWs : backwardWs;
+                SearchWorkspace other = isForward ? backwardWs : forwardWs;
+
+                int u = ws.heap().poll();
+                double du = ws.distance(u);
+                for (int e = side.firstEdge(u), last = side.endEdge(u); e < last; e++) {
+                    int v = side.target(e);
+                    double newDist = du + side.weight(e);
+                    if (newDist < ws.distance(v)) {
+                        ws.update(v, newDist, u);
+                        ws.heap().addOrDecrease(v, newDist);
+                    }
+                    double total = ws.distance(v) + other.distance(v);
+                    if (total < best) {
+                        best = total;
+                        meeting = v;
+                    }
+                }
+            }
+
+            if (meeting < 0) return new int[0];
+            return buildPath(forwardWs, backwardWs, meeting);
+        } finally {
+            pool.release(forwardWs);
+            pool.release(backwardWs);
+        }
+    }
+
+    private int[] buildPath(SearchWorkspace forward, SearchWorkspace backward, int meeting) {
+        int before = 0;
+        for (int step = forward.parent(meeting); step >= 0; step = forward.parent(step)) before++;
+        int after = 0;
+        for (int step = backward.parent(meeting); step >= 0; step = backward.parent(step)) after++;
+
+        int[] path = new int[before + 1 + after];
+        int i = before;
+        path[i] = meeting;
+        for (int step = forward.parent(meeting); step >= 0; step = forward.parent(step)) path[--i] = step;
+        i = before;
+        for (int step = backward.parent(meeting); step >= 0; step = backward.parent(step)) path[++i] = step;
+        return path;
+    }
+}
@@ -0,0 +1,236 @@
+package algorithm;
+
+import model.Edge;
+import model.Graph;
+import model.IndexedGraph;
+import model.Vertex;
+
+import java.util.List;
+
+// Dijkstra com fila de baldes para grafos de pesos inteiros.
+// Pesos pequenos (até DIAL_MAX_WEIGHT) usam a fila de Dial, com operações O(1);
+// pesos inteiros maiores usam o radix heap. Em ambos os casos nenhuma comparação de double
+// é feita na fila. O DijkstraSolver delega para cá sozinho quando o grafo permite, tanto no
+// retrato por índices quanto no grafo de objetos (consultas sem listener e sem limites).
+public class BucketQueueSolver {
+
+    // Acima disso o array circular de baldes da fila de Dial fica grande demais
+    public static final int DIAL_MAX_WEIGHT = 1 << 16;
+
+    private final WorkspacePool pool;
+
+    public BucketQueueSolver() {
+        this(WorkspacePool.shared());
+    }
+
+    public BucketQueueSolver(WorkspacePool pool) {
+        this.pool = pool;
+    }
+
+    public static boolean supports(IndexedGraph graph) {
+        return graph.hasIntegralWeights();
+    }
+
+    // Retorna os índices dos vértices do caminho (vazio se 'end' for inalcançável)
+    public int[] findShortestPath(IndexedGraph graph, int start, int end) {
+        if (!supports(graph)) throw new IllegalArgumentException("Fila de baldes exige pesos inteiros não negativos");
+
+        SearchWorkspace ws = pool.acquire(graph.vertexCount());
+        try {
+            search(ws, graph, start, end);
+            return buildPath(ws, end, start);
+        } finally {
+            pool.release(ws);
+        }
+    }
+
+    // Busca num workspace já adquirido (o DijkstraSolver usa direto, para ler os contadores)
+    void search(SearchWorkspace ws, IndexedGraph graph, int start, int end) {
+        if (usesDial(graph)) dial(graph, start, end, ws);
+        else radix(graph, start, end, ws);
+    }
+
+    static boolean usesDial(IndexedGraph graph) { return graph.maxWeight() <= DIAL_MAX_WEIGHT; }
+
+    public static boolean supports(Graph graph) {
+        return graph.hasIntegralWeights();
+    }
+
+    static boolean usesDial(Graph graph) { return graph.maxWeight() <= DIAL_MAX_WEIGHT; }
+
+    // Mesma busca sobre o grafo de objetos: grava vértice e aresta de chegada no workspace,
+    // como o DijkstraSolver, para o PathResult sair igual
+    void search(SearchWorkspace ws, Vertex start, Vertex end) {
+        Graph graph = start.getGraph();
+        if (usesDial(graph)) dial(start, end, (int) graph.maxWeight(), ws);
+        else radix(start, end, ws);
+    }
+
+    private void dial(IndexedGraph graph, int start, int end, SearchWorkspace ws) {
+        DialQueue queue = ws.dialQueue((int) graph.maxWeight());
+        long settledCount = 0, acceptedCount = 0, rejectedCount = 0;
+        int peak = 1;
+
+        ws.update(start, 0.0, -1);
+        queue.add(start, 0L);
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            settledCount++;
+            if (current == end) break;
+
+            long currentDist = queue.keyOf(current);
+            for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                int neighbor = graph.target(e);
+                long newDist = currentDist + (long) graph.weight(e);
+                if (newDist < ws.distance(neighbor)) {
+                    acceptedCount++;
+                    ws.update(neighbor, newDist, current);
+                    queue.addOrDecrease(neighbor, newDist);
+                    if (queue.size() > peak) peak = queue.size();
+                } else {
+                    rejectedCount++;
+                }
+            }
+        }
+        ws.setCounters(settledCount, 0, acceptedCount, rejectedCount, peak);
+    }
+
+    private void radix(IndexedGraph graph, int start, int end, SearchWorkspace ws) {
+        RadixHeap queue = ws.radixHeap();
+        long settledCount = 0, staleCount = 0, acceptedCount = 0, rejectedCount = 0;
+        int peak = 1;
+
+        ws.update(start, 0.0, -1);
+        queue.push(start, 0L);
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            long currentDist = queue.lastKey();
+
+            // Entrada velha: o vértice já foi alcançado por um caminho melhor
+            if (currentDist != (long) ws.distance(current)) {
+                staleCount++;
+                continue;
+            }
+            settledCount++;
+            if (current == end) break;
+
+            for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                int neighbor = graph.target(e);
+                long newDist = currentDist + (long) graph.weight(e);
+                if (newDist < ws.distance(neighbor)) {
+                    acceptedCount++;
+                    ws.update(neighbor, newDist, current);
+                    queue.push(neighbor, newDist);
+                    if (queue.size() > peak) peak = queue.size();
+                } else {
+                    rejectedCount++;
+                }
+            }
+        }
+        ws.setCounters(settledCount, staleCount, acceptedCount, rejectedCount, peak);
+    }
+
+    private void dial(Vertex start, Vertex end, int maxWeight, SearchWorkspace ws) {
+        DialQueue queue = ws.dialQueue(maxWeight);
+        long settledCount = 0, acceptedCount = 0, rejectedCount = 0;
+        int peak = 1;
+
+        ws.update(start.getId(), 0.0, -1);
+        ws.setVertex(start.getId(), start);
+        queue.add(start.getId(), 0L);
+
+        while (!queue.isEmpty()) {
+            int currentId = queue.poll();
+            Vertex current = ws.vertex(currentId);
+            settledCount++;
+            if (current == end) break;
+
+            long currentDist = queue.keyOf(currentId);
+            List<Edge> edges = current.getEdges();
+            for (int i = 0, size = edges.size(); i < size; i++) {
+                Edge edge = edges.get(i);
+                Vertex neighbor = edge.getTarget();
+                int id = neighbor.getId();
+                long newDist = currentDist + (long) edge.getWeight();
+
+                // Vértice criado depois do início da busca: cresce o workspace e a fila
+                if (id >= ws.capacity()) {
+                    ws.ensureCapacity(id + 1);
+                    queue.ensureCapacity(ws.capacity());
+                }
+
+                if (newDist < ws.distance(id)) {
+                    acceptedCount++;
+                    ws.update(id, newDist, currentId);
+                    ws.setVertex(id, neighbor);
+                    ws.setParentEdge(id, edge);
+                    queue.addOrDecrease(id, newDist);
+                    if (queue.size() > peak) peak = queue.size();
+                } else {
+                    rejectedCount++;
+                }
+            }
+        }
+        ws.setCounters(settledCount, 0, acceptedCount, rejectedCount, peak);
+    }
+
+    private void radix(Vertex start, Vertex end, SearchWorkspace ws) {
+        RadixHeap queue = ws.radixHeap();
+        long settledCount = 0, staleCount = 0, acceptedCount = 0, rejectedCount = 0;
+        int peak = 1;
+
+        ws.update(start.getId(), 0.0, -1);
+        ws.setVertex(start.getId(), start);
+        queue.push(start.getId(), 0L);
+
+        while (!queue.isEmpty()) {
+            int currentId = queue.poll();
+            long currentDist = queue.lastKey();
+
+            // Entrada velha: o vértice já foi alcançado por um caminho melhor
+            if (currentDist != (long) ws.distance(currentId)) {
+                staleCount++;
+                continue;
+            }
+            Vertex current = ws.vertex(currentId);
+            settledCount++;
+            if (current == end) break;
+
+            List<Edge> edges = current.getEdges();
+            for (int i = 0, size = edges.size(); i < size; i++) {
+                Edge edge = edges.get(i);
+                Vertex neighbor = edge.getTarget();
+                int id = neighbor.getId();
+                long newDist = currentDist + (long) edge.getWeight();
+
+                if (id >= ws.capacity()) ws.ensureCapacity(id + 1);
+
+                if (newDist < ws.distance(id)) {
+                    acceptedCount++;
+                    ws.update(id, newDist, currentId);
+                    ws.setVertex(id, neighbor);
+                    ws.setParentEdge(id, edge);
+                    queue.push(id, newDist);
+                    if (queue.size() > peak) peak = queue.size();
+                } else {
+                    rejectedCount++;
+                }
+            }
+        }
+        ws.setCounters(settledCount, staleCount, acceptedCount, rejectedCount, peak);
+    }
+
+    private int[] buildPath(SearchWorkspace ws, int end, int start) {
+        if (start == end) return new int[] { start };
+        if (ws.parent(end) < 0) return new int[0];
+
+        int length = 0;
+        for (int step = end; step >= 0; step = ws.parent(step)) length++;
+
+        int[] path = new int[length];
+        for (int step = end, i = length - 1; step >= 0; step = ws.parent(step)) path[i--] = step;
+        return path;
+    }
+}
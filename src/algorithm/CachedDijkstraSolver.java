@@ -0,0 +1,118 @@
+package algorithm;
+
+import model.Graph;
+import model.Vertex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Cache LRU de caminhos na frente de um DijkstraSolver, chaveado pelo par (início, fim).
+// As entradas são de um grafo só (os ids são por grafo): consultar outro grafo troca o cache.
+// Qualquer alteração no grafo muda a versão dele (Graph.version) e descarta o cache inteiro na próxima
+// consulta: uma aresta nova ou mais barata pode afetar caminhos em qualquer lugar.
+// Os caminhos devolvidos são somente leitura, pois a mesma lista é entregue a cada acerto.
+public class CachedDijkstraSolver {
+
+    public record Stats(long hits, long misses, long evictions, long invalidations) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private final DijkstraSolver solver;
+    private final int maxEntries;
+    private final LinkedHashMap<Long, List<Vertex>> entries;
+
+    // Grafo e versão que valem para as entradas atuais
+    private Graph graph;
+    private long version;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public CachedDijkstraSolver(int maxEntries) {
+        this(new DijkstraSolver(), maxEntries);
+    }
+
+    public CachedDijkstraSolver(DijkstraSolver solver, int maxEntries) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("Tamanho do cache deve ser positivo");
+        this.solver = solver;
+        this.maxEntries = maxEntries;
+        // accessOrder = true: cada get move a entrada para o fim, e a mais antiga sai primeiro
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<Vertex>> eldest) {
+                if (size() <= CachedDijkstraSolver.this.maxEntries) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    public List<Vertex> findShortestPath(Vertex start, Vertex end) {
+        // Grafos diferentes: não há caminho, e os ids dos dois nem são comparáveis
+        Graph graph = start.getGraph();
+        if (graph != end.getGraph()) return Collections.emptyList();
+        Long key = key(start, end);
+        long before;
+        synchronized (this) {
+            before = validate(graph);
+            List<Vertex> cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        // A busca roda fora do lock; consultas diferentes não esperam umas pelas outras
+        List<Vertex> path = Collections.unmodifiableList(new ArrayList<>(solver.findShortestPath(start, end)));
+
+        synchronized (this) {
+            // Se o grafo mudou durante a busca o resultado pode estar velho: devolve, mas não guarda
+            if (validate(graph) == before) entries.put(key, path);
+        }
+        return path;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        if (graph != null) validate(graph);
+        return entries.size();
+    }
+
+    public int maxEntries() { return maxEntries; }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, invalidations);
+    }
+
+    public synchronized void resetStats() {
+        hits = misses = evictions = invalidations = 0;
+    }
+
+    // Descarta tudo se o grafo mudou (ou é outro) desde que as entradas foram calculadas
+    private long validate(Graph queried) {
+        long current = queried.version();
+        if (current != version || queried != graph) {
+            if (!entries.isEmpty()) invalidations++;
+            entries.clear();
+            graph = queried;
+            version = current;
+        }
+        return current;
+    }
+
+    private static Long key(Vertex start, Vertex end) {
+        return ((long) start.getId() << 32) | (end.getId() & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,238 @@
+package algorithm;
+
+import model.CsrGraph;
+import model.Vertex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+// Contraction Hierarchies: depois de um pré-processamento único (ver ContractionHierarchyBuilder),
+// cada consulta é um Dijkstra bidirecional que só "sobe" na hierarquia: a busca a partir de 'start'
+// usa arestas para vértices de ordem maior, e a busca a partir de 'end' usa arestas reversas
+// vindas de vértices de ordem maior. As duas exploram poucas centenas de vértices mesmo em grafos
+// continentais. Os atalhos do caminho encontrado são desempacotados até as arestas originais.
+public final class ContractionHierarchy {
+
+    private final CsrGraph graph;
+    private final int[] rank;
+    private final int shortcutCount;
+
+    // Tabela de arestas (originais + atalhos); firstChild/secondChild = -1 nas originais
+    private final int[] sources;
+    private final int[] targets;
+    private final int[] firstChild;
+    private final int[] secondChild;
+
+    // Grafo "para cima": em u, arestas u -> w com rank[w] > rank[u]
+    private final int[] upOffsets;
+    private final int[] upEdges;
+    // Grafo "para baixo" invertido: em w, arestas u -> w com rank[u] > rank[w]
+    private final int[] downOffsets;
+    private final int[] downEdges;
+    private final double[] edgeWeights;
+
+    private final WorkspacePool pool;
+
+    ContractionHierarchy(CsrGraph graph, int[] rank, int edgeCount, int shortcutCount, int[] sources, int[] targets,
+                         double[] weights, int[] firstChild, int[] secondChild, boolean[] replaced) {
+        this.graph = graph;
+        this.rank = rank;
+        this.shortcutCount = shortcutCount;
+        this.sources = sources;
+        this.targets = targets;
+        this.firstChild = firstChild;
+        this.secondChild = secondChild;
+        this.edgeWeights = weights;
+        // Vive tanto quanto a hierarquia: guarda workspaces do tamanho do grafo
+        this.pool = new WorkspacePool(Runtime.getRuntime().availableProcessors() * 2, Long.MAX_VALUE);
+
+        int n = graph.vertexCount();
+        upOffsets = new int[n + 1];
+        downOffsets = new int[n + 1];
+        // Arestas substituídas por uma mais barata só servem para desempacotar atalhos
+        for (int e = 0; e < edgeCount; e++) {
+            if (replaced[e]) continue;
+            if (rank[targets[e]] > rank[sources[e]]) upOffsets[sources[e] + 1]++;
+            else downOffsets[targets[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+
+        upEdges = new int[upOffsets[n]];
+        downEdges = new int[downOffsets[n]];
+        int[] upFill = upOffsets.clone();
+        int[] downFill = downOffsets.clone();
+        for (int e = 0; e < edgeCount; e++) {
+            if (replaced[e]) continue;
+            if (rank[targets[e]] > rank[sources[e]]) upEdges[upFill[sources[e]]++] = e;
+            else downEdges[downFill[targets[e]]++] = e;
+        }
+    }
+
+    // Pré-processa o grafo alcançável a partir dos vértices informados
+    public static ContractionHierarchy build(Collection<Vertex> vertices) {
+        return build(CsrGraph.of(vertices), ForkJoinPool.commonPool());
+    }
+
+    public static ContractionHierarchy build(CsrGraph graph, ForkJoinPool pool) {
+        return new ContractionHierarchyBuilder(graph, pool).build();
+    }
+
+    public CsrGraph graph() { return graph; }
+    public int rank(int v) { return rank[v]; }
+    // Contado pelo builder: o grafo original perde laços e arestas paralelas, então a diferença
+    // entre os totais de arestas não serve
+    public int shortcutCount() { return shortcutCount; }
+
+    public List<Vertex> findShortestPath(Vertex start, Vertex end) {
+        int s = graph.indexOf(start);
+        int t = graph.indexOf(end);
+        if (s < 0 || t < 0) return new ArrayList<>();
+
+        int[] path = findShortestPath(s, t);
+        List<Vertex> result = new ArrayList<>(path.length);
+        for (int v : path) result.add(graph.vertex(v));
+        return result;
+    }
+
+    // Índices dos vértices do caminho, já sem atalhos (vazio se 'end' for inalcançável)
+    public int[] findShortestPath(int start, int end) {
+        if (start == end) return new int[] { start };
+
+        SearchWorkspace forward = pool.acquire(graph.vertexCount());
+        SearchWorkspace backward = pool.acquire(graph.vertexCount());
+        try {
+            int meeting = search(forward, backward, start, end);
+            if (meeting < 0) return new int[0];
+            return unpack(forward, backward, meeting);
+        } finally {
+            pool.release(forward);
+            pool.release(backward);
+        }
+    }
+
+    public double distance(int start, int end) {
+        if (start == end) return 0.0;
+
+        SearchWorkspace forward = pool.acquire(graph.vertexCount());
+        SearchWorkspace backward = pool.acquire(graph.vertexCount());
+        try {
+            int meeting = search(forward, backward, start, end);
+            return meeting < 0 ? Double.POSITIVE_INFINITY : forward.distance(meeting) + backward.distance(meeting);
+        } finally {
+            pool.release(forward);
+            pool.release(backward);
+        }
+    }
+
+    // Nos workspaces, parent guarda o id da aresta usada (não o vértice), para desempacotar depois
+    private int search(SearchWorkspace forward, SearchWorkspace backward, int start, int end) {
+        IndexedHeap forwardHeap = forward.heap();
+        IndexedHeap backwardHeap = backward.heap();
+        forward.update(start, 0.0, -1);
+        backward.update(end, 0.0, -1);
+        forwardHeap.add(start, 0.0);
+        backwardHeap.add(end, 0.0);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+
+        // Numa CH não dá para parar no primeiro encontro: cada lado para quando seu topo passa de 'best'
+        while (true) {
+            boolean forwardDone = forwardHeap.isEmpty() || forwardHeap.peekPriority() >= best;
+            boolean backwardDone = backwardHeap.isEmpty() || backwardHeap.peekPriority() >= best;
+            if (forwardDone && backwardDone) break;
+
+            boolean isForward = !forwardDone && (backwardDone || forwardHeap.size() <= backwardHeap.size());
+            SearchWorkspace ws = isForward ? forward : backward;
+            SearchWorkspace other = isForward ? backward : forward;
+            int[] offsets = isForward ? upOffsets : downOffsets;
+            int[] edges = isForward ? upEdges : downEdges;
+            int[] ends = isForward ? targets : sources;
+
+            int u = ws.heap().poll();
+            double du = ws.distance(u);
+
+            double total = du + other.distance(u);
+            if (total < best) {
+                best = total;
+                meeting = u;
+            }
+
+            for (int k = offsets[u], last = offsets[u + 1]; k < last; k++) {
+                int e = edges[k];
+                int v = ends[e];
+                double newDist = du + edgeWeights[e];
+                if (newDist < ws.distance(v)) {
+                    ws.update(v, newDist, e);
+                    ws.heap().addOrDecrease(v, newDist);
+                }
+            }
+        }
+        return meeting;
+    }
+
+    // Busca só para cima, completa (sem destino), usada pelas tabelas de distância: com
+    // forward = true segue o grafo para cima a partir de 'origin'; senão, o grafo para baixo
+    // invertido. As distâncias ficam em ws e os vértices finalizados vão para 'settled'.
+    void upwardSearch(SearchWorkspace ws, int origin, boolean forward, IntList settled) {
+        IndexedHeap heap = ws.heap();
+        int[] offsets = forward ? upOffsets : downOffsets;
+        int[] edges = forward ? upEdges : downEdges;
+        int[] ends = forward ? targets : sources;
+
+        ws.update(origin, 0.0, -1);
+        heap.add(origin, 0.0);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settled.add(u);
+            double du = ws.distance(u);
+            for (int k = offsets[u], last = offsets[u + 1]; k < last; k++) {
+                int e = edges[k];
+                int v = ends[e];
+                double newDist = du + edgeWeights[e];
+                if (newDist < ws.distance(v)) {
+                    ws.update(v, newDist, e);
+                    heap.addOrDecrease(v, newDist);
+                }
+            }
+        }
+    }
+
+    private int[] unpack(SearchWorkspace forward, SearchWorkspace backward, int meeting) {
+        // Arestas (ainda com atalhos) na ordem start -> meeting -> end
+        IntList chain = new IntList();
+        for (int v = meeting; forward.parent(v) >= 0; v = sources[forward.parent(v)]) chain.add(forward.parent(v));
+        for (int i = 0, j = chain.size() - 1; i < j; i++, j--) {
+            int tmp = chain.get(i);
+            chain.set(i, chain.get(j));
+            chain.set(j, tmp);
+        }
+        for (int v = meeting; backward.parent(v) >= 0; v = targets[backward.parent(v)]) chain.add(backward.parent(v));
+
+        IntList path = new IntList();
+        path.add(chain.isEmpty() ? meeting : sources[chain.get(0)]);
+        for (int k = 0; k < chain.size(); k++) unpackEdge(chain.get(k), path);
+        return path.toArray();
+    }
+
+    // Adiciona ao caminho os vértices da aresta 'e' (menos a origem), abrindo atalhos recursivamente
+    private void unpackEdge(int e, IntList path) {
+        IntList stack = new IntList();
+        stack.add(e);
+        while (!stack.isEmpty()) {
+            int top = stack.get(stack.size() - 1);
+            stack.truncate(stack.size() - 1);
+            if (firstChild[top] < 0) {
+                path.add(targets[top]);
+            } else {
+                stack.add(secondChild[top]);
+                stack.add(firstChild[top]);
+            }
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package algorithm;
+
+import model.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Pré-processamento das Contraction Hierarchies.
+// Os vértices são contraídos em rodadas: em cada rodada escolhemos um conjunto independente
+// de vértices com prioridade mínima na vizinhança e contraímos todos em paralelo. Contrair v
+// significa tirá-lo do grafo e, para cada par u -> v -> w, criar o atalho u -> w se nenhum
+// "caminho testemunha" sem v for tão curto quanto. As buscas testemunha ignoram todos os
+// vértices da rodada, então cada decisão continua válida mesmo com os outros sumindo juntos.
+final class ContractionHierarchyBuilder {
+
+    // Limite de vértices finalizados por busca testemunha: se estourar, o atalho é criado
+    // mesmo sem necessidade (só custa uma aresta a mais, nunca um caminho errado)
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final CsrGraph graph;
+    private final ForkJoinPool pool;
+    private final int n;
+
+    // Tabela global de arestas (originais + atalhos). children = -1 nas originais.
+    private int[] sources;
+    private int[] targets;
+    private double[] weights;
+    private int[] firstChild;
+    private int[] secondChild;
+    // Trocadas por uma u -> v mais barata: continuam na tabela (um atalho pode tê-las como filhas
+    // e precisa delas para desempacotar), mas ficam fora dos grafos de busca
+    private boolean[] replaced;
+    private int edgeCount;
+    private int shortcutCount;          // atalhos vivos (os substituídos por um melhor saem da conta)
+
+    // Grafo ainda não contraído: ids das arestas que entram/saem de cada vértice
+    private final IntList[] out;
+    private final IntList[] in;
+
+    private final int[] rank;           // ordem de contração (-1 = ainda no grafo)
+    private final int[] priority;
+    private final int[] deletedNeighbors;
+    private final int[] level;
+    private final int[] roundMark;      // vértices sendo contraídos na rodada atual
+    private int round;
+
+    private final WorkspacePool witnessPool;
+
+    private record Shortcut(int from, int to, double weight, int firstEdge, int secondEdge) {}
+
+    // Marca, por thread, os vizinhos de saída de v: a busca testemunha para quando todos foram finalizados
+    private static final class TargetMarks {
+        final int[] marks;
+        int stamp;
+
+        TargetMarks(int n) { this.marks = new int[n]; }
+    }
+
+    private final ThreadLocal<TargetMarks> targetMarks;
+
+    ContractionHierarchyBuilder(CsrGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+        this.n = graph.vertexCount();
+        this.out = new IntList[n];
+        this.in = new IntList[n];
+        this.rank = new int[n];
+        this.priority = new int[n];
+        this.deletedNeighbors = new int[n];
+        this.level = new int[n];
+        this.roundMark = new int[n];
+        this.witnessPool = new WorkspacePool(pool.getParallelism() + 1, Long.MAX_VALUE);
+        this.targetMarks = ThreadLocal.withInitial(() -> new TargetMarks(n));
+        Arrays.fill(rank, -1);
+
+        int capacity = Math.max(16, graph.edgeCount() * 2);
+        sources = new int[capacity];
+        targets = new int[capacity];
+        weights = new double[capacity];
+        firstChild = new int[capacity];
+        secondChild = new int[capacity];
+        replaced = new boolean[capacity];
+
+        for (int v = 0; v < n; v++) {
+            out[v] = new IntList(4);
+            in[v] = new IntList(4);
+        }
+
+        // Arestas originais; laços são inúteis para caminho mínimo e ficam de fora
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.firstEdge(u), last = graph.endEdge(u); e < last; e++) {
+                int v = graph.target(e);
+                if (v != u) addOrImprove(u, v, graph.weight(e), -1, -1);
+            }
+        }
+    }
+
+    ContractionHierarchy build() {
+        int[] all = IntStream.range(0, n).toArray();
+        updatePriorities(all);
+
+        int nextRank = 0;
+        int[] remaining = all;
+        while (remaining.length > 0) {
+            round++;
+            int[] candidates = remaining;
+            int[] selected = pool.submit(() -> IntStream.of(candidates).parallel()
+                    .filter(this::isLocalMinimum)
+                    .toArray()).join();
+
+            for (int v : selected) roundMark[v] = round;
+
+            // Atalhos calculados em paralelo (só leitura do grafo) e aplicados em sequência
+            List<List<Shortcut>> shortcuts = pool.submit(() -> IntStream.of(selected).parallel()
+                    .mapToObj(v -> findShortcuts(v, true))
+                    .toList()).join();
+
+            IntList touched = new IntList();
+            for (int i = 0; i < selected.length; i++) {
+                int v = selected[i];
+                rank[v] = nextRank++;
+                for (Shortcut s : shortcuts.get(i)) {
+                    addOrImprove(s.from(), s.to(), s.weight(), s.firstEdge(), s.secondEdge());
+                }
+                detach(v, touched);
+            }
+
+            // Só os vizinhos dos contraídos mudam de prioridade
+            int[] dirty = IntStream.range(0, touched.size()).map(touched::get)
+                    .filter(v -> rank[v] < 0).distinct().toArray();
+            updatePriorities(dirty);
+
+            remaining = IntStream.of(remaining).filter(v -> rank[v] < 0).toArray();
+        }
+
+        return new ContractionHierarchy(graph, rank, edgeCount, shortcutCount,
+                Arrays.copyOf(sources, edgeCount), Arrays.copyOf(targets, edgeCount),
+                Arrays.copyOf(weights, edgeCount), Arrays.copyOf(firstChild, edgeCount),
+                Arrays.copyOf(secondChild, edgeCount), Arrays.copyOf(replaced, edgeCount));
+    }
+
+    private void updatePriorities(int[] vertices) {
+        pool.submit(() -> IntStream.of(vertices).parallel().forEach(v -> {
+            int shortcuts = findShortcuts(v, false).size();
+            int edgeDifference = shortcuts - in[v].size() - out[v].size();
+            priority[v] = 2 * edgeDifference + deletedNeighbors[v] + level[v];
+        })).join();
+    }
+
+    // v entra na rodada se tiver prioridade estritamente menor que todos os vizinhos (desempate pelo índice)
+    private boolean isLocalMinimum(int v) {
+        return isBelowNeighbors(v, out[v], true) && isBelowNeighbors(v, in[v], false);
+    }
+
+    private boolean isBelowNeighbors(int v, IntList edges, boolean outgoing) {
+        for (int k = 0; k < edges.size(); k++) {
+            int e = edges.get(k);
+            int x = outgoing ? targets[e] : sources[e];
+            if (priority[x] < priority[v] || (priority[x] == priority[v] && x < v)) return false;
+        }
+        return true;
+    }
+
+    // Atalhos necessários para contrair v (excludeRound = false só simula, para a prioridade)
+    private List<Shortcut> findShortcuts(int v, boolean excludeRound) {
+        IntList incoming = in[v];
+        IntList outgoing = out[v];
+        List<Shortcut> result = new ArrayList<>();
+        if (incoming.isEmpty() || outgoing.isEmpty()) return result;
+
+        double maxOut = 0;
+        for (int k = 0; k < outgoing.size(); k++) maxOut = Math.max(maxOut, weights[outgoing.get(k)]);
+
+        TargetMarks marks = targetMarks.get();
+        marks.stamp++;
+        for (int k = 0; k < outgoing.size(); k++) marks.marks[targets[outgoing.get(k)]] = marks.stamp;
+
+        SearchWorkspace ws = witnessPool.acquire(n);
+        try {
+            for (int i = 0; i < incoming.size(); i++) {
+                int inEdge = incoming.get(i);
+                int u = sources[inEdge];
+
+                double limit = weights[inEdge] + maxOut;
+                witnessSearch(ws, u, v, limit, excludeRound, marks, outgoing.size());
+
+                for (int j = 0; j < outgoing.size(); j++) {
+                    int outEdge = outgoing.get(j);
+                    int w = targets[outEdge];
+                    if (w == u) continue;
+
+                    double viaV = weights[inEdge] + weights[outEdge];
+                    if (ws.distance(w) > viaV) result.add(new Shortcut(u, w, viaV, inEdge, outEdge));
+                }
+            }
+        } finally {
+            witnessPool.release(ws);
+        }
+        return result;
+    }
+
+    // Dijkstra local a partir de u, sem passar por v (nem pelos vértices da rodada)
+    private void witnessSearch(SearchWorkspace ws, int u, int v, double limit, boolean excludeRound,
+                               TargetMarks marks, int pendingTargets) {
+        ws.reset(n);
+        IndexedHeap heap = ws.heap();
+        ws.update(u, 0.0, -1);
+        heap.add(u, 0.0);
+
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            if (heap.peekPriority() > limit || ++settled > WITNESS_SETTLE_LIMIT) break;
+            int x = heap.poll();
+            if (marks.marks[x] == marks.stamp && --pendingTargets == 0) break;
+            double dx = ws.distance(x);
+            IntList edges = out[x];
+            for (int k = 0; k < edges.size(); k++) {
+                int e = edges.get(k);
+                int y = targets[e];
+                if (y == v || (excludeRound && roundMark[y] == round)) continue;
+                double newDist = dx + weights[e];
+                if (newDist < ws.distance(y)) {
+                    ws.update(y, newDist, x);
+                    heap.addOrDecrease(y, newDist);
+                }
+            }
+        }
+    }
+
+    // Tira v do grafo restante e atualiza os contadores dos vizinhos
+    private void detach(int v, IntList touched) {
+        IntList outgoing = out[v];
+        for (int k = 0; k < outgoing.size(); k++) {
+            int w = targets[outgoing.get(k)];
+            removeEdgesFrom(in[w], v, true);
+            neighborContracted(w, v, touched);
+        }
+        IntList incoming = in[v];
+        for (int k = 0; k < incoming.size(); k++) {
+            int u = sources[incoming.get(k)];
+            removeEdgesFrom(out[u], v, false);
+            neighborContracted(u, v, touched);
+        }
+        out[v] = null;
+        in[v] = null;
+    }
+
+    private void neighborContracted(int x, int v, IntList touched) {
+        if (rank[x] >= 0) return;
+        deletedNeighbors[x]++;
+        level[x] = Math.max(level[x], level[v] + 1);
+        touched.add(x);
+    }
+
+    private void removeEdgesFrom(IntList edges, int v, boolean bySource) {
+        if (edges == null) return;
+        int kept = 0;
+        for (int k = 0; k < edges.size(); k++) {
+            int e = edges.get(k);
+            int endpoint = bySource ? sources[e] : targets[e];
+            if (endpoint != v) edges.set(kept++, e);
+        }
+        edges.truncate(kept);
+    }
+
+    // Mantém no máximo uma aresta u -> v no grafo restante: a mais barata (arestas paralelas
+    // só inflariam o grau dos vértices e o número de buscas testemunha)
+    private void addOrImprove(int u, int v, double weight, int first, int second) {
+        IntList edges = out[u];
+        for (int k = 0; k < edges.size(); k++) {
+            int e = edges.get(k);
+            if (targets[e] != v) continue;
+            if (weights[e] <= weight) return;
+            edges.set(k, edges.get(edges.size() - 1));
+            edges.truncate(edges.size() - 1);
+            removeEdge(in[v], e);
+            replaced[e] = true;
+            if (firstChild[e] >= 0) shortcutCount--;
+            break;
+        }
+        addEdge(u, v, weight, first, second);
+    }
+
+    private static void removeEdge(IntList edges, int e) {
+        for (int k = 0; k < edges.size(); k++) {
+            if (edges.get(k) == e) {
+                edges.set(k, edges.get(edges.size() - 1));
+                edges.truncate(edges.size() - 1);
+                return;
+            }
+        }
+    }
+
+    private void addEdge(int u, int v, double weight, int first, int second) {
+        if (edgeCount == sources.length) {
+            int capacity = edgeCount * 2;
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            secondChild = Arrays.copyOf(secondChild, capacity);
+            replaced = Arrays.copyOf(replaced, capacity);
+        }
+        int e = edgeCount++;
+        if (first >= 0) shortcutCount++;
+        sources[e] = u;
+        targets[e] = v;
+        weights[e] = weight;
+        firstChild[e] = first;
+        secondChild[e] = second;
+        out[u].add(e);
+        in[v].add(e);
+    }
+}
@@ -0,0 +1,305 @@
+package algorithm;
+
+import model.CsrGraph;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Delta-stepping (Meyer & Sanders): caminhos mínimos de fonte única em paralelo.
+// Os vértices ficam em baldes de largura 'delta' pela distância provisória. Cada balde é
+// esvaziado em fases: as arestas leves (peso <= delta) da fronteira são relaxadas em paralelo
+// até o balde estabilizar, depois as pesadas de todos os vértices que passaram por ele.
+// As distâncias ficam num AtomicLongArray com os bits do double; como são todas >= 0,
+// a ordem dos bits é a mesma dos valores e um CAS de "mínimo" basta.
+// Os baldes ficam num mapa ordenado só com os não vazios: um delta muito pequeno gera índices
+// enormes, mas nunca mais baldes do que vértices inseridos.
+public class DeltaSteppingSolver {
+
+    // Abaixo disso não compensa dividir a fronteira entre threads
+    private static final int SPLIT_THRESHOLD = 512;
+
+    // Maior índice de balde usado: delta menor que (distância máxima possível / isso) é aumentado,
+    // para o índice caber num long sem saturar (o delta só afeta o desempenho, não o resultado)
+    private static final double MAX_BUCKET_INDEX = 0x1p60;
+
+    private final ForkJoinPool pool;
+    private final double delta;
+
+    public DeltaSteppingSolver() {
+        this(ForkJoinPool.commonPool(), 0.0);
+    }
+
+    // delta <= 0 escolhe automaticamente (peso máximo / grau médio); NaN e infinito são recusados
+    public DeltaSteppingSolver(ForkJoinPool pool, double delta) {
+        if (Double.isNaN(delta) || Double.isInfinite(delta)) throw new IllegalArgumentException("delta inválido: " + delta);
+        this.pool = pool;
+        this.delta = delta;
+    }
+
+    public ShortestPathTree solve(CsrGraph graph, int source) {
+        int n = graph.vertexCount();
+        double width = delta > 0 ? delta : autoDelta(graph);
+        // Nenhuma distância finita passa de maxWeight * (n - 1)
+        width = Math.max(width, graph.maxWeight() * Math.max(n - 1, 1) / MAX_BUCKET_INDEX);
+
+        AtomicLongArray distances = new AtomicLongArray(n);
+        long infinity = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+        pool.invoke(new FillTask(distances, infinity, 0, n));
+        distances.set(source, Double.doubleToRawLongBits(0.0));
+
+        TreeMap<Long, IntList> buckets = new TreeMap<>();
+        addToBucket(buckets, 0, source);
+
+        int[] phaseStamp = new int[n];   // evita repetir um vértice na mesma fronteira
+        int[] settledStamp = new int[n]; // evita repetir um vértice em R (pesadas)
+        int phase = 0;
+        int round = 0;
+
+        // Um balde que volte a receber vértices (arredondamento nas pesadas) é só processado de novo
+        for (Map.Entry<Long, IntList> entry; (entry = buckets.pollFirstEntry()) != null; ) {
+            long i = entry.getKey();
+            IntList bucket = entry.getValue();
+            round++;
+
+            IntList settled = new IntList();
+            IntList frontier = new IntList(bucket.size());
+            phase++;
+            for (int k = 0; k < bucket.size(); k++) {
+                int v = bucket.get(k);
+                // Entrada preguiçosa: o vértice pode já ter descido para um balde menor
+                if (bucketOf(distances, v, width) == i && phaseStamp[v] != phase) {
+                    phaseStamp[v] = phase;
+                    frontier.add(v);
+                }
+            }
+
+            while (!frontier.isEmpty()) {
+                for (int k = 0; k < frontier.size(); k++) {
+                    int v = frontier.get(k);
+                    if (settledStamp[v] != round) {
+                        settledStamp[v] = round;
+                        settled.add(v);
+                    }
+                }
+
+                IntList improved = pool.invoke(new RelaxTask(graph, distances, frontier.toArray(), 0, frontier.size(), width, true));
+
+                IntList next = new IntList();
+                phase++;
+                for (int k = 0; k < improved.size(); k++) {
+                    int v = improved.get(k);
+                    long b = bucketOf(distances, v, width);
+                    if (b == i) {
+                        if (phaseStamp[v] != phase) {
+                            phaseStamp[v] = phase;
+                            next.add(v);
+                        }
+                    } else {
+                        addToBucket(buckets, b, v);
+                    }
+                }
+                frontier = next;
+            }
+
+            // Arestas pesadas nunca caem no balde atual, então basta uma rodada
+            IntList improved = pool.invoke(new RelaxTask(graph, distances, settled.toArray(), 0, settled.size(), width, false));
+            for (int k = 0; k < improved.size(); k++) {
+                int v = improved.get(k);
+                addToBucket(buckets, bucketOf(distances, v, width), v);
+            }
+        }
+
+        double[] result = new double[n];
+        for (int v = 0; v < n; v++) result[v] = Double.longBitsToDouble(distances.get(v));
+        int[] parents = buildParents(graph, result, source);
+        return new ShortestPathTree(source, result, parents);
+    }
+
+    private static double autoDelta(CsrGraph graph) {
+        if (graph.edgeCount() == 0) return 1.0;
+        double averageDegree = Math.max(1.0, (double) graph.edgeCount() / graph.vertexCount());
+        double width = graph.maxWeight() / averageDegree;
+        return width > 0 ? width : 1.0;
+    }
+
+    private static long bucketOf(AtomicLongArray distances, int v, double width) {
+        return (long) (Double.longBitsToDouble(distances.get(v)) / width);
+    }
+
+    private static void addToBucket(TreeMap<Long, IntList> buckets, long b, int v) {
+        IntList bucket = buckets.get(b);
+        if (bucket == null) {
+            bucket = new IntList();
+            buckets.put(b, bucket);
+        }
+        bucket.add(v);
+    }
+
+    // Predecessores escolhidos depois que as distâncias fecharam, de forma determinística:
+    // entre as arestas "justas" (dist[u] + w == dist[v]) vence o u de menor índice.
+    // As distâncias são idênticas às do Dijkstra sequencial; os predecessores coincidem
+    // sempre que o caminho mínimo é único e, nos empates, formam outra árvore igualmente mínima.
+    private int[] buildParents(CsrGraph graph, double[] distances, int source) {
+        int n = graph.vertexCount();
+        AtomicIntegerArray best = new AtomicIntegerArray(n);
+        pool.invoke(new ParentTask(graph, distances, best, 0, n));
+
+        int[] parents = new int[n];
+        boolean unresolved = false;
+        for (int v = 0; v < n; v++) {
+            int p = best.get(v);
+            parents[v] = p == 0 ? -1 : p - 1;
+            if (p == 0 && v != source && distances[v] != Double.POSITIVE_INFINITY) unresolved = true;
+        }
+
+        // Vértices alcançados só por arestas de peso 0 a partir de outro de mesma distância:
+        // liga-os em largura a partir dos já resolvidos, o que nunca cria ciclo
+        if (unresolved) {
+            IntList queue = new IntList();
+            for (int v = 0; v < n; v++) {
+                if (v == source || parents[v] >= 0) queue.add(v);
+            }
+            for (int k = 0; k < queue.size(); k++) {
+                int u = queue.get(k);
+                for (int e = graph.firstEdge(u), last = graph.endEdge(u); e < last; e++) {
+                    int v = graph.target(e);
+                    if (v != source && parents[v] < 0 && distances[u] + graph.weight(e) == distances[v]) {
+                        parents[v] = u;
+                        queue.add(v);
+                    }
+                }
+            }
+        }
+        return parents;
+    }
+
+    // As tarefas do fork/join nunca são serializadas
+    @SuppressWarnings("serial")
+    private static final class FillTask extends RecursiveAction {
+        private final AtomicLongArray array;
+        private final long value;
+        private final int from;
+        private final int to;
+
+        FillTask(AtomicLongArray array, long value, int from, int to) {
+            this.array = array;
+            this.value = value;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD * 64) {
+                for (int i = from; i < to; i++) array.set(i, value);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new FillTask(array, value, from, mid), new FillTask(array, value, mid, to));
+        }
+    }
+
+    // Relaxa as arestas leves (ou pesadas) dos vértices em [from, to) e devolve quem melhorou
+    @SuppressWarnings("serial")
+    private static final class RelaxTask extends RecursiveTask<IntList> {
+        private final CsrGraph graph;
+        private final AtomicLongArray distances;
+        private final int[] vertices;
+        private final int from;
+        private final int to;
+        private final double width;
+        private final boolean light;
+
+        RelaxTask(CsrGraph graph, AtomicLongArray distances, int[] vertices, int from, int to, double width, boolean light) {
+            this.graph = graph;
+            this.distances = distances;
+            this.vertices = vertices;
+            this.from = from;
+            this.to = to;
+            this.width = width;
+            this.light = light;
+        }
+
+        @Override
+        protected IntList compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                RelaxTask left = new RelaxTask(graph, distances, vertices, from, mid, width, light);
+                left.fork();
+                IntList right = new RelaxTask(graph, distances, vertices, mid, to, width, light).compute();
+                IntList result = left.join();
+                result.addAll(right);
+                return result;
+            }
+
+            IntList improved = new IntList();
+            for (int k = from; k < to; k++) {
+                int u = vertices[k];
+                double du = Double.longBitsToDouble(distances.get(u));
+                for (int e = graph.firstEdge(u), last = graph.endEdge(u); e < last; e++) {
+                    double w = graph.weight(e);
+                    if ((w <= width) != light) continue;
+                    int v = graph.target(e);
+                    long candidate = Double.doubleToRawLongBits(du + w);
+                    long current = distances.get(v);
+                    while (candidate < current) {
+                        if (distances.compareAndSet(v, current, candidate)) {
+                            improved.add(v);
+                            break;
+                        }
+                        current = distances.get(v);
+                    }
+                }
+            }
+            return improved;
+        }
+    }
+
+    // Para cada aresta justa u -> v guarda o menor u (+1, para 0 significar "nenhum")
+    @SuppressWarnings("serial")
+    private static final class ParentTask extends RecursiveAction {
+        private final CsrGraph graph;
+        private final double[] distances;
+        private final AtomicIntegerArray best;
+        private final int from;
+        private final int to;
+
+        ParentTask(CsrGraph graph, double[] distances, AtomicIntegerArray best, int from, int to) {
+            this.graph = graph;
+            this.distances = distances;
+            this.best = best;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD * 8) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ParentTask(graph, distances, best, from, mid), new ParentTask(graph, distances, best, mid, to));
+                return;
+            }
+            for (int u = from; u < to; u++) {
+                double du = distances[u];
+                if (du == Double.POSITIVE_INFINITY) continue;
+                for (int e = graph.firstEdge(u), last = graph.endEdge(u); e < last; e++) {
+                    int v = graph.target(e);
+                    double w = graph.weight(e);
+                    // Só arestas que aumentam a distância: com peso 0 entre iguais poderia fechar ciclo
+                    if (du < distances[v] && du + w == distances[v]) {
+                        int candidate = u + 1;
+                        int current = best.get(v);
+                        while ((current == 0 || candidate < current) && !best.compareAndSet(v, current, candidate)) {
+                            current = best.get(v);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Fila de baldes de Dial para pesos inteiros em [0, maxWeight].
+// Como o Dijkstra é monótono, toda chave na fila está em [cursor, cursor + maxWeight],
+// então maxWeight + 1 baldes circulares bastam. Cada balde é uma lista duplamente ligada
+// em arrays de int, o que dá inserção, decreaseKey e remoção em O(1).
+public final class DialQueue {
+
+    private int[] heads;      // balde -> primeiro vértice (-1 = vazio)
+    private int[] next;
+    private int[] prev;
+    private int[] bucketOf;   // vértice -> balde em que está (-1 = fora da fila)
+    private long[] keys;
+    private long cursor;      // menor chave possível na fila (a última removida)
+    private boolean started;
+    private int size;
+
+    public DialQueue(int capacity, int maxWeight) {
+        capacity = Math.max(capacity, 1);
+        this.heads = new int[maxWeight + 1];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        this.bucketOf = new int[capacity];
+        this.keys = new long[capacity];
+        Arrays.fill(heads, -1);
+        Arrays.fill(bucketOf, -1);
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public int capacity() { return bucketOf.length; }
+    public int maxWeight() { return heads.length - 1; }
+
+    public boolean contains(int v) { return bucketOf[v] >= 0; }
+    public long keyOf(int v) { return keys[v]; }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity <= bucketOf.length) return;
+        int newCapacity = Math.max(capacity, bucketOf.length + (bucketOf.length >> 1));
+        int old = bucketOf.length;
+        next = Arrays.copyOf(next, newCapacity);
+        prev = Arrays.copyOf(prev, newCapacity);
+        keys = Arrays.copyOf(keys, newCapacity);
+        bucketOf = Arrays.copyOf(bucketOf, newCapacity);
+        Arrays.fill(bucketOf, old, newCapacity, -1);
+    }
+
+    // Só pode ser chamado com a fila vazia: o número de baldes depende do maior peso
+    public void ensureMaxWeight(int maxWeight) {
+        if (size != 0) throw new IllegalStateException("Fila precisa estar vazia");
+        if (maxWeight + 1 > heads.length) {
+            heads = new int[maxWeight + 1];
+            Arrays.fill(heads, -1);
+        }
+    }
+
+    public void add(int v, long key) {
+        if (bucketOf[v] >= 0) throw new IllegalArgumentException("Vértice já está na fila: " + v);
+        if (!started) {
+            cursor = key;
+            started = true;
+        }
+        link(v, key);
+        size++;
+    }
+
+    public void decreaseKey(int v, long key) {
+        unlink(v);
+        link(v, key);
+    }
+
+    public void addOrDecrease(int v, long key) {
+        if (bucketOf[v] >= 0) decreaseKey(v, key);
+        else add(v, key);
+    }
+
+    public int poll() {
+        if (size == 0) throw new IllegalStateException("Fila vazia");
+        int bucket = (int) (cursor % heads.length);
+        while (heads[bucket] < 0) {
+            cursor++;
+            bucket = (int) (cursor % heads.length);
+        }
+        int v = heads[bucket];
+        unlink(v);
+        size--;
+        return v;
+    }
+
+    // Esvazia a fila em O(baldes + elementos restantes)
+    public void clear() {
+        started = false;
+        if (size == 0) return;
+        for (int b = 0; b < heads.length; b++) {
+            for (int v = heads[b]; v >= 0; v = next[v]) bucketOf[v] = -1;
+            heads[b] = -1;
+        }
+        size = 0;
+    }
+
+    private void link(int v, long key) {
+        int bucket = (int) (key % heads.length);
+        keys[v] = key;
+        bucketOf[v] = bucket;
+        prev[v] = -1;
+        next[v] = heads[bucket];
+        if (heads[bucket] >= 0) prev[heads[bucket]] = v;
+        heads[bucket] = v;
+    }
+
+    private void unlink(int v) {
+        int bucket = bucketOf[v];
+        if (prev[v] >= 0) next[prev[v]] = next[v];
+        else heads[bucket] = next[v];
+        if (next[v] >= 0) prev[next[v]] = prev[v];
+        bucketOf[v] = -1;
+    }
+}
@@ -4,15 +4,26 @@ import model.Edge;
 import model.Vertex;
 
 public interface DijkstraListener {
+    // Bits de eventMask(): o solver só chama os métodos cujos bits estiverem ligados
+    int VERTEX_VISITING = 1;
+    int VERTEX_FINALIZED = 1 << 1;
+    int EDGE_RELAXED = 1 << 2;
+    int EDGE_REJECTED = 1 << 3;
+    int ALL_EVENTS = VERTEX_VISITING | VERTEX_FINALIZED | EDGE_RELAXED | EDGE_REJECTED;
+
     // Quando o algoritmo tira um nó da fila para analisar (Pinta de AMARELO/Laranja)
-    void onVertexVisiting(Vertex v);
+    default void onVertexVisiting(Vertex v) {}
 
     // Quando o nó foi totalmente processado e fechado (Pinta de VERDE FINAL ou CINZA)
-    void onVertexFinalized(Vertex v);
+    default void onVertexFinalized(Vertex v) {}
 
     // Quando uma aresta é analisada e descobre-se um caminho MELHOR (Pinta aresta de VERDE)
-    void onEdgeRelaxed(Edge e, double newDistance);
+    default void onEdgeRelaxed(Edge e, double newDistance) {}
 
     // Quando uma aresta é analisada mas o caminho é PIOR ou IGUAL (Pinta aresta de VERMELHO)
-    void onEdgeRejected(Edge e, double distanceSent);
-}
\ No newline at end of file
+    default void onEdgeRejected(Edge e, double distanceSent) {}
+
+    // Eventos desejados (ex.: só VERTEX_FINALIZED). Lida uma vez no início de cada busca;
+    // com máscara 0 o solver roda como se não houvesse listener.
+    default int eventMask() { return ALL_EVENTS; }
+}
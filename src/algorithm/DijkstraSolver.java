@@ -1,97 +1,551 @@
 package algorithm;
 
+import model.CsrGraph;
 import model.Edge;
+import model.Graph;
+import model.IndexedGraph;
 import model.Vertex;
 
 import java.util.*;
 
 public class DijkstraSolver {
 
+    // Buscas com tempo máximo leem o relógio a cada 1024 vértices finalizados (potência de 2)
+    private static final int DEADLINE_CHECK = 1024;
+
     private DijkstraListener listener;
+    private SolverMetrics metrics;
+
+    // Workspaces reaproveitados entre consultas (e entre threads, se o pool for compartilhado)
+    private final WorkspacePool pool;
+    private final BucketQueueSolver bucketSolver;
+
+    public DijkstraSolver() {
+        this(WorkspacePool.shared());
+    }
+
+    public DijkstraSolver(WorkspacePool pool) {
+        this.pool = pool;
+        this.bucketSolver = new BucketQueueSolver(pool);
+    }
 
     public void setListener(DijkstraListener listener) {
         this.listener = listener;
     }
 
-    private void notifyVisiting(Vertex v) { if(listener != null) listener.onVertexVisiting(v); }
-    private void notifyFinalized(Vertex v) { if(listener != null) listener.onVertexFinalized(v); }
-    private void notifyRelaxed(Edge e, double d) { if(listener != null) listener.onEdgeRelaxed(e, d); }
-    private void notifyRejected(Edge e, double d) { if(listener != null) listener.onEdgeRejected(e, d); }
+    // Recebe o QueryStats de cada consulta (null desliga). Os contadores são variáveis locais
+    // do laço e sempre rodam; o relógio e o registro só acontecem com métricas ou com o evento
+    // ShortestPathQueryEvent do JFR ligados.
+    public void setMetrics(SolverMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public List<Vertex> findShortestPath(Vertex start, Vertex end) {
+        return new ArrayList<>(findPath(start, end).vertices());
+    }
+
+    // Caminho com custo, arestas exatas e número de saltos
+    public PathResult findPath(Vertex start, Vertex end) {
+        // Sem listener não há animação a mostrar: destino sem arestas de entrada falha na hora
+        if (start.getGraph() != end.getGraph() || (listener == null && cannotReach(start, end))) {
+            return PathResult.notFound(start, end, StopReason.EXHAUSTED);
+        }
 
-    private record NodeWrapper(Vertex node, double totalDistance) implements Comparable<NodeWrapper> {
-        @Override
-        public int compareTo(NodeWrapper other) {
-            return Double.compare(this.totalDistance, other.totalDistance);
+        // Arrays indexados pelo id do vértice no lugar dos HashMaps (sem boxing de Double)
+        SearchWorkspace ws = pool.acquire(start.getGraph().vertexCount());
+        SolverMetrics metrics = this.metrics;
+        ShortestPathQueryEvent event = ShortestPathQueryEvent.beginIfEnabled();
+        boolean measured = metrics != null || event != null;
+        long begin = measured ? System.nanoTime() : 0;
+        try {
+            // Sem listener (ou sem eventos pedidos) roda o laço sem nenhuma chamada de callback.
+            // Pesos inteiros (o Graph acompanha a cada alteração): fila de baldes, como no CSR
+            DijkstraListener current = listener;
+            int mask = current == null ? 0 : current.eventMask();
+            Graph graph = start.getGraph();
+            String queue = "heap";
+            if (mask == 0 && BucketQueueSolver.supports(graph)) {
+                bucketSolver.search(ws, start, end);
+                queue = BucketQueueSolver.usesDial(graph) ? "dial" : "radix";
+            } else if (mask == 0) {
+                search(ws, start, end);
+            } else {
+                searchInstrumented(ws, start, end, current, mask);
+            }
+
+            PathResult result = PathResult.fromWorkspace(ws, start, end);
+            if (measured) report(ws, metrics, event, begin, "objetos", queue, result.isFound(), result.distance());
+            return result;
+        } finally {
+            pool.release(ws);
         }
     }
 
-    public List<Vertex> findShortestPath(Vertex start, Vertex end) {
-        Map<Vertex, Double> distances = new HashMap<>();
-        Map<Vertex, Vertex> previous = new HashMap<>();
-        PriorityQueue<NodeWrapper> queue = new PriorityQueue<>();
+    // Caminho com limites: se a distância máxima, o número de vértices finalizados ou o tempo
+    // estourarem antes de chegar em 'end', devolve um PathResult não encontrado com o motivo.
+    // Não emite eventos para o listener.
+    public PathResult findPath(Vertex start, Vertex end, SearchLimits limits) {
+        if (cannotReach(start, end)) return PathResult.notFound(start, end, StopReason.EXHAUSTED);
 
-        distances.put(start, 0.0);
-        queue.add(new NodeWrapper(start, 0.0));
+        SearchWorkspace ws = pool.acquire(start.getGraph().vertexCount());
+        SolverMetrics metrics = this.metrics;
+        ShortestPathQueryEvent event = ShortestPathQueryEvent.beginIfEnabled();
+        long begin = System.nanoTime();
+        try {
+            StopReason reason = searchLimited(ws, start, end, limits, null, begin);
+            PathResult result = reason == StopReason.TARGET_REACHED
+                    ? PathResult.fromWorkspace(ws, start, end)
+                    : PathResult.notFound(start, end, reason);
+            if (metrics != null || event != null) report(ws, metrics, event, begin, "objetos", "heap", result.isFound(), result.distance());
+            return result;
+        } finally {
+            pool.release(ws);
+        }
+    }
+
+    // Isócrona / área de serviço: todos os vértices alcançáveis a partir de 'source' dentro dos
+    // limites, com as distâncias. Só toca a região coberta.
+    public Isochrone reachableWithin(Vertex source, SearchLimits limits) {
+        SearchWorkspace ws = pool.acquire(source.getGraph().vertexCount());
+        SolverMetrics metrics = this.metrics;
+        ShortestPathQueryEvent event = ShortestPathQueryEvent.beginIfEnabled();
+        long begin = System.nanoTime();
+        try {
+            IntList order = new IntList();
+            StopReason reason = searchLimited(ws, source, null, limits, order, begin);
+
+            int[] members = order.toArray();
+            double[] distances = new double[members.length];
+            Vertex[] vertices = new Vertex[members.length];
+            for (int i = 0; i < members.length; i++) {
+                distances[i] = ws.distance(members[i]);
+                vertices[i] = ws.vertex(members[i]);
+            }
+            Isochrone result = new Isochrone(reason, members, distances, vertices);
+            if (metrics != null || event != null) report(ws, metrics, event, begin, "objetos", "heap", false, result.radius());
+            return result;
+        } finally {
+            pool.release(ws);
+        }
+    }
+
+    // Destino diferente da origem, em outro grafo ou sem nenhuma aresta chegando: nenhuma busca vai achá-lo
+    private static boolean cannotReach(Vertex start, Vertex end) {
+        return !start.equals(end) && (start.getGraph() != end.getGraph() || end.getIncomingEdges().isEmpty());
+    }
+
+    private void search(SearchWorkspace ws, Vertex start, Vertex end) {
+        IndexedHeap queue = ws.heap();
+
+        long settledCount = 0, acceptedCount = 0, rejectedCount = 0;
+        int peak = 1;
+
+        ws.update(start.getId(), 0.0, -1);
+        ws.setVertex(start.getId(), start);
+        queue.add(start.getId(), 0.0);
 
         while (!queue.isEmpty()) {
-            NodeWrapper currentWrapper = queue.poll();
-            Vertex current = currentWrapper.node();
+            int currentId = queue.poll();
+            Vertex current = ws.vertex(currentId);
+            settledCount++;
+            if (current.equals(end)) break;
 
-            notifyVisiting(current);
+            double currentDist = ws.distance(currentId);
+            List<Edge> edges = current.getEdges();
+            for (int i = 0, size = edges.size(); i < size; i++) {
+                Edge edge = edges.get(i);
+                Vertex neighbor = edge.getTarget();
+                int id = neighbor.getId();
+                double newDist = currentDist + edge.getWeight();
+
+                // Vértice criado depois do início da busca: cresce o workspace
+                if (id >= ws.capacity()) ws.ensureCapacity(id + 1);
+
+                if (newDist < ws.distance(id)) {
+                    acceptedCount++;
+                    ws.update(id, newDist, currentId);
+                    ws.setVertex(id, neighbor);
+                    ws.setParentEdge(id, edge);
+                    queue.addOrDecrease(id, newDist);
+                    if (queue.size() > peak) peak = queue.size();
+                } else {
+                    rejectedCount++;
+                }
+            }
+        }
+        ws.setCounters(settledCount, 0, acceptedCount, rejectedCount, peak);
+    }
+
+    // Mesmo laço, emitindo só os eventos da máscara
+    private void searchInstrumented(SearchWorkspace ws, Vertex start, Vertex end, DijkstraListener listener, int mask) {
+        boolean visiting = (mask & DijkstraListener.VERTEX_VISITING) != 0;
+        boolean finalized = (mask & DijkstraListener.VERTEX_FINALIZED) != 0;
+        boolean relaxed = (mask & DijkstraListener.EDGE_RELAXED) != 0;
+        boolean rejected = (mask & DijkstraListener.EDGE_REJECTED) != 0;
+        IndexedHeap queue = ws.heap();
+
+        long settledCount = 0, acceptedCount = 0, rejectedCount = 0;
+        int peak = 1;
+
+        ws.update(start.getId(), 0.0, -1);
+        ws.setVertex(start.getId(), start);
+        queue.add(start.getId(), 0.0);
+
+        while (!queue.isEmpty()) {
+            int currentId = queue.poll();
+            Vertex current = ws.vertex(currentId);
+            settledCount++;
+
+            if (visiting) listener.onVertexVisiting(current);
 
             if (current.equals(end)) {
-                notifyFinalized(current);
+                if (finalized) listener.onVertexFinalized(current);
                 break;
             }
 
-            if (currentWrapper.totalDistance() > distances.getOrDefault(current, Double.POSITIVE_INFINITY)) {
-                notifyFinalized(current);
-                continue;
+            double currentDist = ws.distance(currentId);
+            List<Edge> edges = current.getEdges();
+            for (int i = 0, size = edges.size(); i < size; i++) {
+                Edge edge = edges.get(i);
+                Vertex neighbor = edge.getTarget();
+                int id = neighbor.getId();
+                double newDist = currentDist + edge.getWeight();
+
+                if (id >= ws.capacity()) ws.ensureCapacity(id + 1);
+
+                if (newDist < ws.distance(id)) {
+                    acceptedCount++;
+                    if (relaxed) listener.onEdgeRelaxed(edge, newDist);
+                    ws.update(id, newDist, currentId);
+                    ws.setVertex(id, neighbor);
+                    ws.setParentEdge(id, edge);
+                    queue.addOrDecrease(id, newDist);
+                    if (queue.size() > peak) peak = queue.size();
+                } else {
+                    rejectedCount++;
+                    if (rejected) listener.onEdgeRejected(edge, newDist);
+                }
+            }
+            if (finalized) listener.onVertexFinalized(current);
+        }
+        ws.setCounters(settledCount, 0, acceptedCount, rejectedCount, peak);
+    }
+
+    // Laço com limites. 'end' null = sem destino (isócrona); 'order' recebe os ids na ordem em
+    // que foram finalizados. O relógio só é lido a cada DEADLINE_CHECK vértices.
+    private StopReason searchLimited(SearchWorkspace ws, Vertex start, Vertex end, SearchLimits limits,
+                                     IntList order, long begin) {
+        IndexedHeap queue = ws.heap();
+        double maxDistance = limits.maxDistance();
+        long maxSettled = limits.maxSettled();
+        boolean timed = limits.hasTimeout();
+        long deadline = begin + limits.timeoutNanos();
+
+        long settledCount = 0, acceptedCount = 0, rejectedCount = 0;
+        int peak = 1;
+        boolean pruned = false;
+        StopReason reason = null;
+
+        ws.update(start.getId(), 0.0, -1);
+        ws.setVertex(start.getId(), start);
+        queue.add(start.getId(), 0.0);
+
+        while (!queue.isEmpty()) {
+            if (settledCount >= maxSettled) { reason = StopReason.SETTLE_LIMIT; break; }
+            if (timed && (settledCount & (DEADLINE_CHECK - 1)) == 0 && System.nanoTime() - deadline > 0) {
+                reason = StopReason.DEADLINE;
+                break;
             }
 
-            for (Edge edge : current.getEdges()) {
+            int currentId = queue.poll();
+            Vertex current = ws.vertex(currentId);
+            settledCount++;
+            if (order != null) order.add(currentId);
+            if (current.equals(end)) { reason = StopReason.TARGET_REACHED; break; }
+
+            double currentDist = ws.distance(currentId);
+            List<Edge> edges = current.getEdges();
+            for (int i = 0, size = edges.size(); i < size; i++) {
+                Edge edge = edges.get(i);
                 Vertex neighbor = edge.getTarget();
-                double newDist = distances.get(current) + edge.getWeight();
-                double currentNeighborDist = distances.getOrDefault(neighbor, Double.POSITIVE_INFINITY);
-
-                if (newDist < currentNeighborDist) {
-                    notifyRelaxed(edge, newDist);
-                    distances.put(neighbor, newDist);
-                    previous.put(neighbor, current);
-                    queue.add(new NodeWrapper(neighbor, newDist));
+                int id = neighbor.getId();
+                double newDist = currentDist + edge.getWeight();
+
+                // Fora do orçamento: nem entra na fila
+                if (newDist > maxDistance) {
+                    pruned = true;
+                    rejectedCount++;
+                    continue;
+                }
+                if (id >= ws.capacity()) ws.ensureCapacity(id + 1);
+
+                if (newDist < ws.distance(id)) {
+                    acceptedCount++;
+                    ws.update(id, newDist, currentId);
+                    ws.setVertex(id, neighbor);
+                    ws.setParentEdge(id, edge);
+                    queue.addOrDecrease(id, newDist);
+                    if (queue.size() > peak) peak = queue.size();
                 } else {
-                    notifyRejected(edge, newDist);
+                    rejectedCount++;
                 }
             }
-            notifyFinalized(current);
         }
+        ws.setCounters(settledCount, 0, acceptedCount, rejectedCount, peak);
+        if (reason != null) return reason;
+        return pruned ? StopReason.DISTANCE_LIMIT : StopReason.EXHAUSTED;
+    }
+
+    // --- CAMINHO CSR ---
+    // Mesma busca, mas sobre o retrato CSR: distâncias e predecessores ficam em arrays indexados por int.
+    public List<Vertex> findShortestPath(CsrGraph graph, Vertex start, Vertex end) {
+        int s = graph.indexOf(start);
+        int t = graph.indexOf(end);
+        if (s < 0 || t < 0) return new ArrayList<>();
+
+        int[] path = findShortestPath(graph, s, t);
+        List<Vertex> result = new ArrayList<>(path.length);
+        for (int v : path) result.add(graph.vertex(v));
+        return result;
+    }
+
+    // Retorna os índices dos vértices do caminho (vazio se 'end' for inalcançável).
+    // Aceita qualquer IndexedGraph, inclusive um io.MappedGraph lido direto do arquivo.
+    public int[] findShortestPath(IndexedGraph graph, int start, int end) {
+        SearchWorkspace ws = pool.acquire(graph.vertexCount());
+        try {
+            searchCsr(ws, graph, start, end);
+            return buildPath(ws, end, start);
+        } finally {
+            pool.release(ws);
+        }
+    }
+
+    // Só o custo do caminho mínimo (infinito se inalcançável), sem montar o caminho
+    public double shortestDistance(IndexedGraph graph, int start, int end) {
+        SearchWorkspace ws = pool.acquire(graph.vertexCount());
+        try {
+            searchCsr(ws, graph, start, end);
+            return ws.distance(end);
+        } finally {
+            pool.release(ws);
+        }
+    }
 
-        // --- CORREÇÃO AQUI ---
-        // Passamos 'start' para validar se o caminho está completo
-        return buildPath(previous, end, start);
+    // Árvore completa a partir de 'source': distância e predecessor de todos os vértices numa
+    // busca só, para atender quantos destinos o cliente quiser
+    public ShortestPathTree shortestPathTree(IndexedGraph graph, int source) {
+        return shortestPathTree(graph, source, new ShortestPathTree());
     }
 
-    private List<Vertex> buildPath(Map<Vertex, Vertex> previous, Vertex end, Vertex start) {
-        List<Vertex> path = new ArrayList<>();
+    // Preenche 'tree' (reaproveitando os arrays dela) e a devolve
+    public ShortestPathTree shortestPathTree(IndexedGraph graph, int source, ShortestPathTree tree) {
+        int n = graph.vertexCount();
+        SearchWorkspace ws = pool.acquire(n);
+        try {
+            searchCsr(ws, graph, source, -1);
+            tree.prepare(source, n);
+            for (int v = 0; v < n; v++) tree.set(v, ws.distance(v), ws.parent(v));
+            return tree;
+        } finally {
+            pool.release(ws);
+        }
+    }
+
+    private void searchCsr(SearchWorkspace ws, IndexedGraph graph, int start, int end) {
+        // Eventos só fazem sentido se o retrato ainda conhece os objetos originais
+        DijkstraListener current = listener;
+        int mask = current == null || !(graph instanceof CsrGraph csr && csr.hasObjects()) ? 0 : current.eventMask();
+
+        SolverMetrics metrics = this.metrics;
+        ShortestPathQueryEvent event = ShortestPathQueryEvent.beginIfEnabled();
+        boolean measured = metrics != null || event != null;
+        long begin = measured ? System.nanoTime() : 0;
 
-        // 1. Caso Trivial: Início e Fim são iguais
-        if (start.equals(end)) {
-            path.add(start);
-            return path;
+        // Pesos inteiros: a fila de baldes resolve sem comparar doubles.
+        // Com eventos ligados fica no heap, para a ordem dos eventos ser a de sempre.
+        String queue = "heap";
+        if (mask == 0 && BucketQueueSolver.supports(graph)) {
+            bucketSolver.search(ws, graph, start, end);
+            queue = BucketQueueSolver.usesDial(graph) ? "dial" : "radix";
+        } else if (mask == 0) {
+            search(ws, graph, start, end);
+        } else {
+            searchInstrumented(ws, (CsrGraph) graph, start, end, current, mask);
         }
 
-        // 2. CORREÇÃO DE BUG: Se o 'end' não tem "pai" no mapa previous, ele nunca foi visitado/alcançado.
-        if (!previous.containsKey(end)) {
-            return path; // Retorna LISTA VAZIA indicando falha
+        // end = -1: árvore completa, sem destino (não encontrado e distância NaN no evento)
+        if (measured) {
+            double distance = end >= 0 ? ws.distance(end) : Double.NaN;
+            report(ws, metrics, event, begin, "csr", queue, distance < Double.POSITIVE_INFINITY, distance);
         }
+    }
+
+    // Isócrona sobre o retrato CSR: Isochrone.member(i) são índices do grafo
+    public Isochrone reachableWithin(IndexedGraph graph, int source, SearchLimits limits) {
+        SearchWorkspace ws = pool.acquire(graph.vertexCount());
+        SolverMetrics metrics = this.metrics;
+        ShortestPathQueryEvent event = ShortestPathQueryEvent.beginIfEnabled();
+        long begin = System.nanoTime();
+        try {
+            IntList order = new IntList();
+            StopReason reason = searchLimited(ws, graph, source, limits, order, begin);
 
-        Vertex step = end;
-        while (step != null) {
-            path.add(step);
-            step = previous.get(step);
+            int[] members = order.toArray();
+            double[] distances = new double[members.length];
+            for (int i = 0; i < members.length; i++) distances[i] = ws.distance(members[i]);
+            Isochrone result = new Isochrone(reason, members, distances, null);
+            if (metrics != null || event != null) report(ws, metrics, event, begin, "csr", "heap", false, result.radius());
+            return result;
+        } finally {
+            pool.release(ws);
         }
+    }
+
+    private StopReason searchLimited(SearchWorkspace ws, IndexedGraph graph, int start, SearchLimits limits,
+                                     IntList order, long begin) {
+        IndexedHeap queue = ws.heap();
+        double maxDistance = limits.maxDistance();
+        long maxSettled = limits.maxSettled();
+        boolean timed = limits.hasTimeout();
+        long deadline = begin + limits.timeoutNanos();
+
+        long settledCount = 0, acceptedCount = 0, rejectedCount = 0;
+        int peak = 1;
+        boolean pruned = false;
+        StopReason reason = null;
+
+        ws.update(start, 0.0, -1);
+        queue.add(start, 0.0);
+
+        while (!queue.isEmpty()) {
+            if (settledCount >= maxSettled) { reason = StopReason.SETTLE_LIMIT; break; }
+            if (timed && (settledCount & (DEADLINE_CHECK - 1)) == 0 && System.nanoTime() - deadline > 0) {
+                reason = StopReason.DEADLINE;
+                break;
+            }
+
+            int current = queue.poll();
+            settledCount++;
+            order.add(current);
+
+            double currentDist = ws.distance(current);
+            for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                int neighbor = graph.target(e);
+                double newDist = currentDist + graph.weight(e);
+                if (newDist > maxDistance) {
+                    pruned = true;
+                    rejectedCount++;
+                } else if (newDist < ws.distance(neighbor)) {
+                    acceptedCount++;
+                    ws.update(neighbor, newDist, current);
+                    queue.addOrDecrease(neighbor, newDist);
+                    if (queue.size() > peak) peak = queue.size();
+                } else {
+                    rejectedCount++;
+                }
+            }
+        }
+        ws.setCounters(settledCount, 0, acceptedCount, rejectedCount, peak);
+        if (reason != null) return reason;
+        return pruned ? StopReason.DISTANCE_LIMIT : StopReason.EXHAUSTED;
+    }
+
+    private void search(SearchWorkspace ws, IndexedGraph graph, int start, int end) {
+        IndexedHeap queue = ws.heap();
+
+        long settledCount = 0, acceptedCount = 0, rejectedCount = 0;
+        int peak = 1;
+
+        ws.update(start, 0.0, -1);
+        queue.add(start, 0.0);
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            settledCount++;
+            if (current == end) break;
+
+            double currentDist = ws.distance(current);
+            for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                int neighbor = graph.target(e);
+                double newDist = currentDist + graph.weight(e);
+                if (newDist < ws.distance(neighbor)) {
+                    acceptedCount++;
+                    ws.update(neighbor, newDist, current);
+                    queue.addOrDecrease(neighbor, newDist);
+                    if (queue.size() > peak) peak = queue.size();
+                } else {
+                    rejectedCount++;
+                }
+            }
+        }
+        ws.setCounters(settledCount, 0, acceptedCount, rejectedCount, peak);
+    }
+
+    private void searchInstrumented(SearchWorkspace ws, CsrGraph graph, int start, int end, DijkstraListener listener, int mask) {
+        boolean visiting = (mask & DijkstraListener.VERTEX_VISITING) != 0;
+        boolean finalized = (mask & DijkstraListener.VERTEX_FINALIZED) != 0;
+        boolean relaxed = (mask & DijkstraListener.EDGE_RELAXED) != 0;
+        boolean rejected = (mask & DijkstraListener.EDGE_REJECTED) != 0;
+        IndexedHeap queue = ws.heap();
+
+        long settledCount = 0, acceptedCount = 0, rejectedCount = 0;
+        int peak = 1;
+
+        ws.update(start, 0.0, -1);
+        queue.add(start, 0.0);
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            settledCount++;
+
+            if (visiting) listener.onVertexVisiting(graph.vertex(current));
+
+            if (current == end) {
+                if (finalized) listener.onVertexFinalized(graph.vertex(current));
+                break;
+            }
+
+            double currentDist = ws.distance(current);
+            for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                int neighbor = graph.target(e);
+                double newDist = currentDist + graph.weight(e);
+
+                if (newDist < ws.distance(neighbor)) {
+                    acceptedCount++;
+                    if (relaxed) listener.onEdgeRelaxed(graph.edge(e), newDist);
+                    ws.update(neighbor, newDist, current);
+                    queue.addOrDecrease(neighbor, newDist);
+                    if (queue.size() > peak) peak = queue.size();
+                } else {
+                    rejectedCount++;
+                    if (rejected) listener.onEdgeRejected(graph.edge(e), newDist);
+                }
+            }
+            if (finalized) listener.onVertexFinalized(graph.vertex(current));
+        }
+        ws.setCounters(settledCount, 0, acceptedCount, rejectedCount, peak);
+    }
+
+    private static void report(SearchWorkspace ws, SolverMetrics metrics, ShortestPathQueryEvent event,
+                               long begin, String graph, String queue, boolean found, double distance) {
+        QueryStats stats = ws.stats(System.nanoTime() - begin);
+        if (metrics != null) metrics.record(stats);
+        if (event != null && event.shouldCommit()) {
+            event.fill(stats, graph, queue, found, distance);
+            event.commit();
+        }
+    }
+
+    private int[] buildPath(SearchWorkspace ws, int end, int start) {
+        if (start == end) return new int[] { start };
+        if (ws.parent(end) < 0) return new int[0];
+
+        int length = 0;
+        for (int step = end; step >= 0; step = ws.parent(step)) length++;
 
-        Collections.reverse(path);
+        int[] path = new int[length];
+        for (int step = end, i = length - 1; step >= 0; step = ws.parent(step)) path[i--] = step;
         return path;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,213 @@
+package algorithm;
+
+import model.IndexedGraph;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+// Matrizes de distância origens x destinos sem N x M consultas separadas:
+//  - oneToMany: um Dijkstra por origem, que para assim que todos os destinos pedidos foram
+//    finalizados (a região explorada é compartilhada por todos os destinos da linha);
+//  - manyToMany: algoritmo de baldes sobre a Contraction Hierarchy (Knopp et al.). Uma busca
+//    para cima invertida a partir de cada destino deixa (destino, distância) num balde em cada
+//    vértice alcançado; depois uma busca para cima a partir de cada origem só lê os baldes dos
+//    vértices que finaliza. São N + M buscas pequenas, em vez de N x M, o que barateia em ordens
+//    de grandeza as matrizes de roteirização de veículos.
+// O resultado sai como double[][] (linha = origem) ou, para matrizes grandes fora do heap, escrito
+// linha a linha num DoubleBuffer (ex.: ByteBuffer.allocateDirect(...).asDoubleBuffer()), na
+// posição origem * destinos + destino. Inalcançável = infinito.
+public final class DistanceTable {
+
+    private interface RowSink {
+        void row(int source, double[] row);
+    }
+
+    private final WorkspacePool pool;
+
+    public DistanceTable() {
+        this(WorkspacePool.shared());
+    }
+
+    public DistanceTable(WorkspacePool pool) {
+        this.pool = pool;
+    }
+
+    // --- Um para muitos ---
+
+    public double[] oneToMany(IndexedGraph graph, int source, int[] targets) {
+        double[][] table = oneToMany(graph, new int[] { source }, targets);
+        return table[0];
+    }
+
+    public double[][] oneToMany(IndexedGraph graph, int[] sources, int[] targets) {
+        double[][] table = new double[sources.length][];
+        oneToMany(graph, sources, targets, (i, row) -> table[i] = row.clone());
+        return table;
+    }
+
+    public void oneToMany(IndexedGraph graph, int[] sources, int[] targets, DoubleBuffer out) {
+        checkCapacity(out, sources.length, targets.length);
+        oneToMany(graph, sources, targets, (i, row) -> out.put(i * targets.length, row));
+    }
+
+    private void oneToMany(IndexedGraph graph, int[] sources, int[] targets, RowSink sink) {
+        IntSet wanted = new IntSet(targets.length);
+        for (int t : targets) wanted.add(t);
+
+        double[] row = new double[targets.length];
+        // Sem destinos a busca nunca pararia cedo: cada origem viraria um Dijkstra completo à toa
+        if (wanted.size() == 0) {
+            for (int i = 0; i < sources.length; i++) sink.row(i, row);
+            return;
+        }
+        SearchWorkspace ws = pool.acquire(graph.vertexCount());
+        try {
+            for (int i = 0; i < sources.length; i++) {
+                if (i > 0) ws.reset(graph.vertexCount());
+                searchUntilSettled(ws, graph, sources[i], wanted);
+                for (int j = 0; j < targets.length; j++) row[j] = ws.distance(targets[j]);
+                sink.row(i, row);
+            }
+        } finally {
+            pool.release(ws);
+        }
+    }
+
+    // Dijkstra comum que para quando o último destino pedido sai da fila
+    private static void searchUntilSettled(SearchWorkspace ws, IndexedGraph graph, int source, IntSet wanted) {
+        IndexedHeap queue = ws.heap();
+        int remaining = wanted.size();
+
+        ws.update(source, 0.0, -1);
+        queue.add(source, 0.0);
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            if (wanted.contains(current) && --remaining == 0) break;
+
+            double currentDist = ws.distance(current);
+            for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                int neighbor = graph.target(e);
+                double newDist = currentDist + graph.weight(e);
+                if (newDist < ws.distance(neighbor)) {
+                    ws.update(neighbor, newDist, current);
+                    queue.addOrDecrease(neighbor, newDist);
+                }
+            }
+        }
+    }
+
+    // --- Muitos para muitos (baldes sobre a CH) ---
+
+    public double[][] manyToMany(ContractionHierarchy hierarchy, int[] sources, int[] targets) {
+        double[][] table = new double[sources.length][];
+        manyToMany(hierarchy, sources, targets, (i, row) -> table[i] = row.clone());
+        return table;
+    }
+
+    public void manyToMany(ContractionHierarchy hierarchy, int[] sources, int[] targets, DoubleBuffer out) {
+        checkCapacity(out, sources.length, targets.length);
+        manyToMany(hierarchy, sources, targets, (i, row) -> out.put(i * targets.length, row));
+    }
+
+    private void manyToMany(ContractionHierarchy hierarchy, int[] sources, int[] targets, RowSink sink) {
+        int n = hierarchy.graph().vertexCount();
+        SearchWorkspace ws = pool.acquire(n);
+        try {
+            // 1) Buscas invertidas: entrada (destino j, distância) em cada vértice alcançado
+            IntList settled = new IntList();
+            IntList entryVertex = new IntList();
+            IntList entryTarget = new IntList();
+            double[] entryDistance = new double[64];
+            for (int j = 0; j < targets.length; j++) {
+                ws.reset(n);
+                settled.clear();
+                hierarchy.upwardSearch(ws, targets[j], false, settled);
+                if (entryVertex.size() + settled.size() > entryDistance.length) {
+                    entryDistance = Arrays.copyOf(entryDistance, Math.max(entryDistance.length * 2, entryVertex.size() + settled.size()));
+                }
+                for (int k = 0; k < settled.size(); k++) {
+                    int v = settled.get(k);
+                    entryDistance[entryVertex.size()] = ws.distance(v);
+                    entryVertex.add(v);
+                    entryTarget.add(j);
+                }
+            }
+
+            // Baldes agrupados por vértice em formato CSR (contagem + espalhamento)
+            int entries = entryVertex.size();
+            int[] bucketOffsets = new int[n + 1];
+            for (int k = 0; k < entries; k++) bucketOffsets[entryVertex.get(k) + 1]++;
+            for (int v = 0; v < n; v++) bucketOffsets[v + 1] += bucketOffsets[v];
+            int[] fill = Arrays.copyOf(bucketOffsets, n);
+            int[] bucketTargets = new int[entries];
+            double[] bucketDistances = new double[entries];
+            for (int k = 0; k < entries; k++) {
+                int pos = fill[entryVertex.get(k)]++;
+                bucketTargets[pos] = entryTarget.get(k);
+                bucketDistances[pos] = entryDistance[k];
+            }
+
+            // 2) Buscas para cima a partir das origens, combinando com os baldes
+            double[] row = new double[targets.length];
+            for (int i = 0; i < sources.length; i++) {
+                ws.reset(n);
+                settled.clear();
+                hierarchy.upwardSearch(ws, sources[i], true, settled);
+                Arrays.fill(row, Double.POSITIVE_INFINITY);
+                for (int k = 0; k < settled.size(); k++) {
+                    int u = settled.get(k);
+                    double du = ws.distance(u);
+                    for (int b = bucketOffsets[u], last = bucketOffsets[u + 1]; b < last; b++) {
+                        double total = du + bucketDistances[b];
+                        if (total < row[bucketTargets[b]]) row[bucketTargets[b]] = total;
+                    }
+                }
+                sink.row(i, row);
+            }
+        } finally {
+            pool.release(ws);
+        }
+    }
+
+    private static void checkCapacity(DoubleBuffer out, int rows, int columns) {
+        if ((long) rows * columns > out.limit()) {
+            throw new IllegalArgumentException("Buffer com " + out.limit() + " posições para uma matriz " + rows + " x " + columns);
+        }
+    }
+
+    // Conjunto de ints com endereçamento aberto (os destinos de uma linha)
+    private static final class IntSet {
+        private final int[] slots;      // -1 = vazio
+        private final int mask;
+        private int size;
+
+        IntSet(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+            slots = new int[capacity];
+            Arrays.fill(slots, -1);
+            mask = capacity - 1;
+        }
+
+        void add(int value) {
+            for (int slot = hash(value); ; slot = (slot + 1) & mask) {
+                if (slots[slot] == value) return;
+                if (slots[slot] < 0) {
+                    slots[slot] = value;
+                    size++;
+                    return;
+                }
+            }
+        }
+
+        boolean contains(int value) {
+            for (int slot = hash(value); ; slot = (slot + 1) & mask) {
+                if (slots[slot] == value) return true;
+                if (slots[slot] < 0) return false;
+            }
+        }
+
+        int size() { return size; }
+
+        private int hash(int value) { return (value * 0x9E3779B9 >>> 7) & mask; }
+    }
+}
@@ -0,0 +1,257 @@
+package algorithm;
+
+import model.Edge;
+import model.Graph;
+import model.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Árvore de caminhos mínimos a partir de uma origem fixa, mantida viva enquanto o grafo muda
+// (no estilo de Ramalingam & Reps). Depois de alterar o grafo, avise a árvore pelo método
+// correspondente (weightChanged, edgeAdded, edgeRemoved, targetChanged):
+//  - se uma aresta ficou mais barata, o Dijkstra recomeça só a partir do destino dela;
+//  - se uma aresta da árvore ficou mais cara (ou sumiu), só a subárvore pendurada nela é
+//    recalculada, partindo das melhores arestas que entram nela vindas de fora.
+// Aumentos em arestas fora da árvore não mudam nada. O custo acompanha o tamanho da região
+// afetada, não o do grafo. As arestas que entram vêm do índice reverso do modelo
+// (Vertex.getIncomingEdges). Para alterações não avisadas, use rebuild(). Se os ids do grafo
+// mudarem (vértice removido, ou o grafo da origem absorvido por outro), o próximo aviso refaz tudo.
+public final class DynamicShortestPathTree {
+
+    private final Vertex source;
+    private Graph graph;                // grafo e renumerações que valem para os arrays
+    private long renumberings;
+
+    // Tudo indexado pelo id do vértice
+    private double[] distances;
+    private Edge[] parentEdges;
+    private Vertex[] parents;
+    private Vertex[] vertices;
+    private int[] marks;                // subárvore afetada no reparo atual
+    private int mark;
+
+    private IndexedHeap heap;
+
+    public DynamicShortestPathTree(Vertex source) {
+        this.source = source;
+        this.distances = new double[0];
+        rebuild();
+    }
+
+    // Recalcula tudo do zero (ex.: depois de alterações feitas sem avisar a árvore).
+    // Os arrays ficam do tamanho do grafo da origem, então custa O(grafo), mesmo que ele tenha encolhido.
+    public void rebuild() {
+        graph = source.getGraph();
+        renumberings = graph.renumberings();
+        int n = graph.vertexCount();
+        if (distances.length != n) {
+            distances = new double[n];
+            parentEdges = new Edge[n];
+            parents = new Vertex[n];
+            vertices = new Vertex[n];
+            marks = new int[n];
+            mark = 0;
+            heap = new IndexedHeap(n);
+        } else {
+            Arrays.fill(parentEdges, null);
+            Arrays.fill(parents, null);
+            Arrays.fill(vertices, null);
+            heap.clear();
+        }
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+
+        int s = source.getId();
+        distances[s] = 0.0;
+        vertices[s] = source;
+        heap.add(s, 0.0);
+        propagate();
+    }
+
+    public Vertex source() { return source; }
+
+    public double distance(Vertex v) {
+        int id = index(v);
+        return id >= 0 ? distances[id] : Double.POSITIVE_INFINITY;
+    }
+
+    public boolean isReachable(Vertex v) { return distance(v) != Double.POSITIVE_INFINITY; }
+
+    public Vertex parent(Vertex v) {
+        int id = index(v);
+        return id >= 0 ? parents[id] : null;
+    }
+
+    public Edge parentEdge(Vertex v) {
+        int id = index(v);
+        return id >= 0 ? parentEdges[id] : null;
+    }
+
+    // Posição de 'v' nos arrays, ou -1 se for de outro grafo ou mais novo que eles
+    private int index(Vertex v) {
+        int id = v.getId();
+        return v.getGraph() == graph && id < distances.length ? id : -1;
+    }
+
+    // Caminho da origem até 'target' (vazio se inalcançável)
+    public List<Vertex> pathTo(Vertex target) {
+        if (!isReachable(target)) return new ArrayList<>();
+        List<Vertex> path = new ArrayList<>();
+        for (Vertex step = target; step != null; step = parent(step)) path.add(step);
+        Collections.reverse(path);
+        return path;
+    }
+
+    // --- Avisos de alteração (chamar depois de alterar o grafo) ---
+
+    public void weightChanged(Vertex from, Edge edge) {
+        if (sync(from)) return;
+        int v = edge.getTarget().getId();
+        if (parentEdges[v] == edge) {
+            double newDist = distances[from.getId()] + edge.getWeight();
+            if (newDist > distances[v]) repairSubtree(v);
+            else if (newDist < distances[v]) improve(from, edge);
+        } else {
+            improve(from, edge);
+        }
+    }
+
+    public void edgeAdded(Vertex from, Edge edge) {
+        if (sync(from)) return;
+        improve(from, edge);
+    }
+
+    public void edgeRemoved(Vertex from, Edge edge) {
+        if (sync(from)) return;
+        detach(edge, edge.getTarget());
+    }
+
+    // 'edge' saía de 'from' para 'oldTarget' e agora aponta para edge.getTarget()
+    public void targetChanged(Vertex from, Edge edge, Vertex oldTarget) {
+        if (sync(from)) return;
+        detach(edge, oldTarget);
+        improve(from, edge);
+    }
+
+    // --- Reparos ---
+
+    // Refaz tudo se os ids mudaram desde a última vez; senão só acompanha vértices novos.
+    // true = nada mais a reparar (refeita, ou a aresta é de outro grafo)
+    private boolean sync(Vertex from) {
+        if (source.getGraph() != graph || graph.renumberings() != renumberings) {
+            rebuild();
+            return true;
+        }
+        ensureCapacity(graph.vertexCount());
+        return from.getGraph() != graph;
+    }
+
+    private void detach(Edge edge, Vertex target) {
+        int v = target.getId();
+        if (parentEdges[v] == edge) repairSubtree(v);
+    }
+
+    // Diminuição: se a aresta melhora o destino, o Dijkstra segue a partir dele
+    private void improve(Vertex from, Edge edge) {
+        double newDist = distances[from.getId()] + edge.getWeight();
+        Vertex target = edge.getTarget();
+        int v = target.getId();
+        if (newDist < distances[v]) {
+            settle(target, newDist, from, edge);
+            heap.addOrDecrease(v, newDist);
+            propagate();
+        }
+    }
+
+    // Aumento: a subárvore de 'root' perde as distâncias e é refeita a partir das arestas
+    // que chegam de fora dela, com um Dijkstra restrito a ela
+    private void repairSubtree(int root) {
+        mark++;
+        IntList affected = new IntList();
+        affected.add(root);
+        marks[root] = mark;
+        for (int k = 0; k < affected.size(); k++) {
+            Vertex x = vertices[affected.get(k)];
+            List<Edge> edges = x.getEdges();
+            for (int i = 0, size = edges.size(); i < size; i++) {
+                Edge e = edges.get(i);
+                int y = e.getTarget().getId();
+                if (parentEdges[y] == e && marks[y] != mark) {
+                    marks[y] = mark;
+                    affected.add(y);
+                }
+            }
+        }
+
+        for (int k = 0; k < affected.size(); k++) {
+            int a = affected.get(k);
+            distances[a] = Double.POSITIVE_INFINITY;
+            parentEdges[a] = null;
+            parents[a] = null;
+        }
+
+        for (int k = 0; k < affected.size(); k++) {
+            int a = affected.get(k);
+            List<Edge> in = vertices[a].getIncomingEdges();
+            for (int i = 0, size = in.size(); i < size; i++) {
+                Edge edge = in.get(i);
+                Vertex from = edge.getSource();
+                int p = from.getId();
+                if (marks[p] == mark) continue;
+                double newDist = distances[p] + edge.getWeight();
+                if (newDist < distances[a]) {
+                    distances[a] = newDist;
+                    parentEdges[a] = edge;
+                    parents[a] = from;
+                }
+            }
+            if (distances[a] != Double.POSITIVE_INFINITY) heap.addOrDecrease(a, distances[a]);
+        }
+        propagate();
+    }
+
+    // Dijkstra a partir do que estiver no heap; só toca vértices cuja distância melhora
+    private void propagate() {
+        while (!heap.isEmpty()) {
+            int currentId = heap.poll();
+            Vertex current = vertices[currentId];
+            double currentDist = distances[currentId];
+
+            List<Edge> edges = current.getEdges();
+            for (int i = 0, size = edges.size(); i < size; i++) {
+                Edge edge = edges.get(i);
+                double newDist = currentDist + edge.getWeight();
+                Vertex neighbor = edge.getTarget();
+                int neighborId = neighbor.getId();
+                if (newDist < distances[neighborId]) {
+                    settle(neighbor, newDist, current, edge);
+                    heap.addOrDecrease(neighborId, newDist);
+                }
+            }
+        }
+    }
+
+    private void settle(Vertex v, double distance, Vertex parent, Edge edge) {
+        int id = v.getId();
+        distances[id] = distance;
+        parents[id] = parent;
+        parentEdges[id] = edge;
+        vertices[id] = v;
+    }
+
+    // Vértices novos no grafo da árvore (ou um grafo absorvido por ele) entre dois avisos
+    private void ensureCapacity(int capacity) {
+        if (capacity <= distances.length) return;
+        int oldLength = distances.length;
+        int newCapacity = Math.max(capacity, oldLength + (oldLength >> 1));
+        distances = Arrays.copyOf(distances, newCapacity);
+        Arrays.fill(distances, oldLength, newCapacity, Double.POSITIVE_INFINITY);
+        parentEdges = Arrays.copyOf(parentEdges, newCapacity);
+        parents = Arrays.copyOf(parents, newCapacity);
+        vertices = Arrays.copyOf(vertices, newCapacity);
+        marks = Arrays.copyOf(marks, newCapacity);
+        heap.ensureCapacity(newCapacity);
+    }
+}
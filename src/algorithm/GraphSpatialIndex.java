@@ -0,0 +1,127 @@
+package algorithm;
+
+import model.Edge;
+import model.Vertex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Índice espacial de um grafo de objetos: vértices por posição e arestas pelo retângulo do
+// segmento origem -> destino. Serve para "grudar" um ponto (clique, coordenada de GPS já
+// projetada no plano) no vértice mais próximo antes de chamar o solver, e para hit test e
+// seleção por área. Vértices sem posição ficam de fora. É um retrato: se o grafo ou as
+// posições mudarem, construa outro.
+public final class GraphSpatialIndex {
+
+    private final Vertex[] vertices;
+    private final Vertex[] edgeSources;
+    private final Edge[] edges;
+    private final SpatialIndex vertexIndex;
+    private final SpatialIndex edgeIndex;
+
+    private GraphSpatialIndex(List<Vertex> vertices, List<Vertex> edgeSources, List<Edge> edges) {
+        this.vertices = vertices.toArray(new Vertex[0]);
+        this.edgeSources = edgeSources.toArray(new Vertex[0]);
+        this.edges = edges.toArray(new Edge[0]);
+
+        double[] xs = new double[this.vertices.length];
+        double[] ys = new double[this.vertices.length];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = this.vertices[i].getX();
+            ys[i] = this.vertices[i].getY();
+        }
+        this.vertexIndex = SpatialIndex.ofPoints(xs, ys);
+
+        int m = this.edges.length;
+        double[] minX = new double[m], minY = new double[m], maxX = new double[m], maxY = new double[m];
+        for (int e = 0; e < m; e++) {
+            Vertex u = this.edgeSources[e];
+            Vertex v = this.edges[e].getTarget();
+            minX[e] = Math.min(u.getX(), v.getX());
+            minY[e] = Math.min(u.getY(), v.getY());
+            maxX[e] = Math.max(u.getX(), v.getX());
+            maxY[e] = Math.max(u.getY(), v.getY());
+        }
+        this.edgeIndex = SpatialIndex.ofBoxes(minX, minY, maxX, maxY);
+    }
+
+    public static GraphSpatialIndex of(Collection<Vertex> graph) {
+        List<Vertex> vertices = new ArrayList<>();
+        List<Vertex> sources = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        for (Vertex u : graph) {
+            if (!u.hasPosition()) continue;
+            vertices.add(u);
+            for (Edge e : u.getEdges()) {
+                if (!e.getTarget().hasPosition()) continue;
+                sources.add(u);
+                edges.add(e);
+            }
+        }
+        return new GraphSpatialIndex(vertices, sources, edges);
+    }
+
+    public int vertexCount() { return vertices.length; }
+    public int edgeCount() { return edges.length; }
+
+    // Vértice mais próximo do ponto (null se o índice estiver vazio)
+    public Vertex nearestVertex(double x, double y) {
+        return nearestVertex(x, y, Double.POSITIVE_INFINITY);
+    }
+
+    public Vertex nearestVertex(double x, double y, double maxDistance) {
+        int i = vertexIndex.nearest(x, y, maxDistance);
+        return i < 0 ? null : vertices[i];
+    }
+
+    // Os k vértices mais próximos, do mais perto para o mais longe
+    public List<Vertex> nearestVertices(double x, double y, int k) {
+        int[] found = vertexIndex.nearest(x, y, k, Double.POSITIVE_INFINITY);
+        List<Vertex> result = new ArrayList<>(found.length);
+        for (int i : found) result.add(vertices[i]);
+        return result;
+    }
+
+    public List<Vertex> verticesIn(double minX, double minY, double maxX, double maxY) {
+        List<Vertex> result = new ArrayList<>();
+        vertexIndex.search(minX, minY, maxX, maxY, i -> result.add(vertices[i]));
+        return result;
+    }
+
+    // Arestas cujo retângulo cruza a área (candidatas: o segmento pode passar ao lado)
+    public List<Edge> edgesIn(double minX, double minY, double maxX, double maxY) {
+        List<Edge> result = new ArrayList<>();
+        edgeIndex.search(minX, minY, maxX, maxY, e -> result.add(edges[e]));
+        return result;
+    }
+
+    // Aresta cujo segmento passa mais perto do ponto, a até 'tolerance' (ou null)
+    public Edge edgeAt(double x, double y, double tolerance) {
+        IntList candidates = new IntList();
+        edgeIndex.search(x - tolerance, y - tolerance, x + tolerance, y + tolerance, candidates);
+
+        Edge best = null;
+        double bestDistSq = tolerance * tolerance;
+        for (int k = 0; k < candidates.size(); k++) {
+            int e = candidates.get(k);
+            double distSq = segmentDistanceSq(x, y, edgeSources[e], edges[e].getTarget());
+            if (distSq <= bestDistSq) {
+                bestDistSq = distSq;
+                best = edges[e];
+            }
+        }
+        return best;
+    }
+
+    private static double segmentDistanceSq(double x, double y, Vertex a, Vertex b) {
+        double dx = b.getX() - a.getX();
+        double dy = b.getY() - a.getY();
+        double lengthSq = dx * dx + dy * dy;
+        double t = lengthSq == 0 ? 0 : ((x - a.getX()) * dx + (y - a.getY()) * dy) / lengthSq;
+        t = Math.max(0, Math.min(1, t));
+        double px = a.getX() + t * dx - x;
+        double py = a.getY() + t * dy - y;
+        return px * px + py * py;
+    }
+}
@@ -0,0 +1,10 @@
+package algorithm;
+
+import model.Vertex;
+
+// Estimativa da distância restante de 'from' até 'goal' usada pelo A*.
+// Precisa ser admissível (nunca superestimar) para o caminho continuar sendo o mínimo.
+@FunctionalInterface
+public interface Heuristic {
+    double estimate(Vertex from, Vertex goal);
+}
@@ -0,0 +1,57 @@
+package algorithm;
+
+import model.Edge;
+import model.Vertex;
+
+import java.util.Collection;
+
+// Heurísticas geométricas prontas para o A*, baseadas na posição guardada em cada Vertex.
+public final class Heuristics {
+
+    private Heuristics() {}
+
+    // Sem informação: o A* vira um Dijkstra comum
+    public static Heuristic zero() {
+        return (from, goal) -> 0.0;
+    }
+
+    // Distância em linha reta, calibrada pelas arestas do grafo.
+    // A escala é fixada aqui: vértices fora da coleção ou pesos alterados depois (setWeight) podem
+    // torná-la inadmissível, então recrie a heurística quando o grafo mudar.
+    public static Heuristic euclidean(Collection<Vertex> graph) {
+        double scale = scaleFor(graph, false);
+        if (scale == 0) return zero();
+        // Vértice sem posição (NaN) estima 0: um NaN na fila desordenaria o heap inteiro
+        return (from, goal) -> !from.hasPosition() || !goal.hasPosition() ? 0.0
+                : scale * Math.hypot(from.getX() - goal.getX(), from.getY() - goal.getY());
+    }
+
+    // Distância "de quarteirão" (|dx| + |dy|), útil em grafos em grade; mesma ressalva de escala
+    public static Heuristic manhattan(Collection<Vertex> graph) {
+        double scale = scaleFor(graph, true);
+        if (scale == 0) return zero();
+        return (from, goal) -> !from.hasPosition() || !goal.hasPosition() ? 0.0
+                : scale * (Math.abs(from.getX() - goal.getX()) + Math.abs(from.getY() - goal.getY()));
+    }
+
+    // Checagem de escala: o peso de uma aresta não tem relação fixa com o comprimento dela na tela.
+    // Usamos o menor custo por unidade de comprimento entre todas as arestas; assim
+    // scale * comprimento(u, v) <= peso(u, v) vale para toda aresta e, pela desigualdade
+    // triangular, a heurística fica consistente (logo admissível).
+    // Se algum vértice não tem posição, não há garantia nenhuma e a escala vira 0.
+    public static double scaleFor(Collection<Vertex> graph, boolean manhattan) {
+        double scale = Double.POSITIVE_INFINITY;
+        for (Vertex u : graph) {
+            if (!u.hasPosition()) return 0.0;
+            for (Edge e : u.getEdges()) {
+                Vertex v = e.getTarget();
+                if (!v.hasPosition()) return 0.0;
+                double dx = Math.abs(u.getX() - v.getX());
+                double dy = Math.abs(u.getY() - v.getY());
+                double length = manhattan ? dx + dy : Math.hypot(dx, dy);
+                if (length > 0) scale = Math.min(scale, e.getWeight() / length);
+            }
+        }
+        return Double.isInfinite(scale) ? 0.0 : scale;
+    }
+}
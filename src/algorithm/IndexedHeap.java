@@ -0,0 +1,139 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Heap 4-ário indexado: as chaves são ints em [0, capacidade) e as prioridades são doubles.
+// Cada chave aparece no máximo uma vez, então decreaseKey substitui a "deleção preguiçosa"
+// e a fila nunca passa de O(V) entradas.
+public final class IndexedHeap {
+
+    private static final int ARITY = 4;
+
+    private int[] heap;          // posição no heap -> chave
+    private double[] priorities; // posição no heap -> prioridade
+    private int[] positions;     // chave -> posição no heap (-1 se fora do heap)
+    private int size;
+
+    public IndexedHeap(int capacity) {
+        this.heap = new int[Math.max(capacity, 1)];
+        this.priorities = new double[heap.length];
+        this.positions = new int[heap.length];
+        Arrays.fill(positions, -1);
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public int capacity() { return positions.length; }
+
+    public boolean contains(int key) {
+        return key < positions.length && positions[key] >= 0;
+    }
+
+    public double priorityOf(int key) {
+        return priorities[positions[key]];
+    }
+
+    // Garante espaço para chaves em [0, capacity)
+    public void ensureCapacity(int capacity) {
+        if (capacity <= positions.length) return;
+        int newCapacity = Math.max(capacity, positions.length + (positions.length >> 1));
+        heap = Arrays.copyOf(heap, newCapacity);
+        priorities = Arrays.copyOf(priorities, newCapacity);
+        int old = positions.length;
+        positions = Arrays.copyOf(positions, newCapacity);
+        Arrays.fill(positions, old, newCapacity, -1);
+    }
+
+    public void add(int key, double priority) {
+        if (contains(key)) throw new IllegalArgumentException("Chave já está no heap: " + key);
+        heap[size] = key;
+        priorities[size] = priority;
+        positions[key] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int key, double priority) {
+        int pos = positions[key];
+        if (priority > priorities[pos]) throw new IllegalArgumentException("Nova prioridade é maior que a atual");
+        priorities[pos] = priority;
+        siftUp(pos);
+    }
+
+    // Insere a chave ou diminui sua prioridade; é o passo de relaxamento do Dijkstra
+    public void addOrDecrease(int key, double priority) {
+        if (positions[key] >= 0) decreaseKey(key, priority);
+        else add(key, priority);
+    }
+
+    public int peek() {
+        if (size == 0) throw new IllegalStateException("Heap vazio");
+        return heap[0];
+    }
+
+    public double peekPriority() {
+        if (size == 0) throw new IllegalStateException("Heap vazio");
+        return priorities[0];
+    }
+
+    public int poll() {
+        if (size == 0) throw new IllegalStateException("Heap vazio");
+        int top = heap[0];
+        positions[top] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            priorities[0] = priorities[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    // Esvazia o heap em O(size), sem precisar varrer o array de posições inteiro
+    public void clear() {
+        for (int i = 0; i < size; i++) positions[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int key = heap[pos];
+        double priority = priorities[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) / ARITY;
+            if (priorities[parent] <= priority) break;
+            move(parent, pos);
+            pos = parent;
+        }
+        place(key, priority, pos);
+    }
+
+    private void siftDown(int pos) {
+        int key = heap[pos];
+        double priority = priorities[pos];
+        while (true) {
+            int first = pos * ARITY + 1;
+            if (first >= size) break;
+            int last = Math.min(first + ARITY, size);
+            int best = first;
+            for (int c = first + 1; c < last; c++) {
+                if (priorities[c] < priorities[best]) best = c;
+            }
+            if (priorities[best] >= priority) break;
+            move(best, pos);
+            pos = best;
+        }
+        place(key, priority, pos);
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        priorities[to] = priorities[from];
+        positions[heap[to]] = to;
+    }
+
+    private void place(int key, double priority, int pos) {
+        heap[pos] = key;
+        priorities[pos] = priority;
+        positions[key] = pos;
+    }
+}
@@ -0,0 +1,44 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Lista crescente de ints sem boxing, usada como fronteira/balde pelos motores paralelos.
+public final class IntList {
+
+    private int[] items;
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int capacity) {
+        this.items = new int[Math.max(capacity, 1)];
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public int get(int index) { return items[index]; }
+    public void set(int index, int value) { items[index] = value; }
+
+    public void add(int value) {
+        if (size == items.length) items = Arrays.copyOf(items, size * 2);
+        items[size++] = value;
+    }
+
+    public void addAll(IntList other) {
+        if (size + other.size > items.length) items = Arrays.copyOf(items, Math.max(size + other.size, size * 2));
+        System.arraycopy(other.items, 0, items, size, other.size);
+        size += other.size;
+    }
+
+    public void clear() { size = 0; }
+
+    // Descarta tudo a partir de newSize (usado para compactar a lista no lugar)
+    public void truncate(int newSize) {
+        if (newSize < 0 || newSize > size) throw new IndexOutOfBoundsException(newSize);
+        size = newSize;
+    }
+
+    public int[] toArray() { return Arrays.copyOf(items, size); }
+}
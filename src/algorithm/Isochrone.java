@@ -0,0 +1,51 @@
+package algorithm;
+
+import model.Vertex;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Vértices alcançáveis a partir de uma origem dentro de um orçamento (SearchLimits), com as
+// distâncias, em ordem crescente de distância (a ordem em que foram finalizados). O custo de
+// calcular e o tamanho do resultado acompanham a área coberta, não o grafo.
+// Se a busca foi cortada por SETTLE_LIMIT ou DEADLINE, isComplete() é falso: os vértices
+// presentes têm distância correta, mas pode faltar alguém dentro da distância máxima.
+public final class Isochrone {
+
+    private final StopReason stopReason;
+    private final int[] members;        // ids dos vértices (grafo de objetos) ou índices (CSR)
+    private final double[] distances;
+    private final Vertex[] vertices;    // null na versão CSR
+
+    Isochrone(StopReason stopReason, int[] members, double[] distances, Vertex[] vertices) {
+        this.stopReason = stopReason;
+        this.members = members;
+        this.distances = distances;
+        this.vertices = vertices;
+    }
+
+    public StopReason stopReason() { return stopReason; }
+    public boolean isComplete() { return stopReason.isComplete(); }
+
+    public int size() { return members.length; }
+    public double distance(int i) { return distances[i]; }
+
+    // Id do vértice (grafo de objetos) ou índice no CsrGraph
+    public int member(int i) { return members[i]; }
+
+    public Vertex vertex(int i) {
+        if (vertices == null) throw new IllegalStateException("Isócrona calculada sobre CSR: use member(i)");
+        return vertices[i];
+    }
+
+    public List<Vertex> vertices() {
+        if (vertices == null) throw new IllegalStateException("Isócrona calculada sobre CSR: use member(i)");
+        return Collections.unmodifiableList(Arrays.asList(vertices));
+    }
+
+    // Maior distância presente (0 se vazia ou só com a origem)
+    public double radius() {
+        return members.length == 0 ? 0.0 : distances[members.length - 1];
+    }
+}
@@ -0,0 +1,101 @@
+package algorithm;
+
+import model.Edge;
+import model.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Caminho encontrado por uma busca: custo total, número de saltos e as arestas exatas usadas
+// (a que foi relaxada, não "alguma" aresta entre os dois vértices, o que importa com arestas
+// paralelas). Só a cadeia de arestas é copiada do workspace; as listas são montadas na primeira
+// vez que alguém pedir, então quem só quer a distância não paga por elas.
+public final class PathResult {
+
+    private static final Edge[] NO_EDGES = new Edge[0];
+
+    private final Vertex start;
+    private final Vertex end;
+    private final double distance;
+    private final Edge[] edges;     // null = destino inalcançável
+    private final StopReason stopReason;
+
+    private List<Edge> edgeList;
+    private List<Vertex> vertexList;
+
+    private PathResult(Vertex start, Vertex end, double distance, Edge[] edges, StopReason stopReason) {
+        this.start = start;
+        this.end = end;
+        this.distance = distance;
+        this.edges = edges;
+        this.stopReason = stopReason;
+    }
+
+    // Sem caminho: a busca esvaziou a fila (EXHAUSTED) ou parou num limite
+    static PathResult notFound(Vertex start, Vertex end, StopReason reason) {
+        return new PathResult(start, end, Double.POSITIVE_INFINITY, null, reason);
+    }
+
+    // Lê o resultado dos predecessores do workspace (pais por id + aresta de chegada)
+    static PathResult fromWorkspace(SearchWorkspace ws, Vertex start, Vertex end) {
+        if (start.equals(end)) return new PathResult(start, end, 0.0, NO_EDGES, StopReason.TARGET_REACHED);
+
+        int t = end.getId();
+        if (t >= ws.capacity() || ws.parent(t) < 0) return notFound(start, end, StopReason.EXHAUSTED);
+
+        int hops = 0;
+        for (int step = t; ws.parent(step) >= 0; step = ws.parent(step)) hops++;
+
+        Edge[] edges = new Edge[hops];
+        for (int step = t, i = hops - 1; i >= 0; step = ws.parent(step)) edges[i--] = ws.parentEdge(step);
+        return new PathResult(start, end, ws.distance(t), edges, StopReason.TARGET_REACHED);
+    }
+
+    public Vertex start() { return start; }
+    public Vertex end() { return end; }
+    public boolean isFound() { return edges != null; }
+
+    // TARGET_REACHED se achou; senão, se o destino é inalcançável (EXHAUSTED) ou qual limite parou a busca
+    public StopReason stopReason() { return stopReason; }
+
+    // Soma dos pesos (infinito se inalcançável)
+    public double distance() { return distance; }
+
+    // Número de arestas (0 se inalcançável ou se start == end)
+    public int hopCount() { return edges == null ? 0 : edges.length; }
+
+    public Edge edge(int hop) {
+        if (edges == null) throw new IndexOutOfBoundsException(hop);
+        return edges[hop];
+    }
+
+    // Arestas na ordem do caminho (vazia se inalcançável)
+    public List<Edge> edges() {
+        if (edgeList == null) {
+            edgeList = edges == null ? List.of() : Collections.unmodifiableList(Arrays.asList(edges));
+        }
+        return edgeList;
+    }
+
+    // Vértices de start até end (vazia se inalcançável)
+    public List<Vertex> vertices() {
+        if (vertexList == null) {
+            if (edges == null) {
+                vertexList = List.of();
+            } else {
+                List<Vertex> path = new ArrayList<>(edges.length + 1);
+                path.add(start);
+                for (Edge edge : edges) path.add(edge.getTarget());
+                vertexList = Collections.unmodifiableList(path);
+            }
+        }
+        return vertexList;
+    }
+
+    @Override
+    public String toString() {
+        return isFound() ? start + " -> " + end + " (custo " + distance + ", " + hopCount() + " arestas)" : start + " -> " + end + " (" + stopReason + ")";
+    }
+}
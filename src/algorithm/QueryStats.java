@@ -0,0 +1,14 @@
+package algorithm;
+
+// Trabalho feito por uma consulta de caminho mínimo:
+//  - settled: vértices tirados da fila (inclui o destino);
+//  - stalePops: entradas velhas descartadas ao sair da fila. Só existem em filas sem decrease-key
+//    (radix heap); no heap indexado e na fila de Dial é sempre 0;
+//  - relaxationsAccepted / relaxationsRejected: arestas que melhoraram ou não a distância do vizinho;
+//  - peakQueueSize: maior tamanho que a fila atingiu;
+//  - nanos: tempo de parede da consulta.
+public record QueryStats(long settled, long stalePops, long relaxationsAccepted, long relaxationsRejected,
+                         int peakQueueSize, long nanos) {
+
+    public long relaxations() { return relaxationsAccepted + relaxationsRejected; }
+}
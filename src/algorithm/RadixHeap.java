@@ -0,0 +1,83 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Radix heap monótono para chaves inteiras não negativas (sem limite no peso das arestas).
+// O balde i guarda as chaves cujo bit mais alto diferente de 'last' (a última chave removida)
+// é o bit i-1; cada elemento só desce de balde, o que dá custo amortizado O(log C) por
+// operação, com operações de bits no lugar de comparações.
+// Não tem decreaseKey: quem usa insere de novo e descarta as entradas velhas ao remover.
+public final class RadixHeap {
+
+    private static final int BUCKETS = 65;
+
+    private final int[][] items = new int[BUCKETS][];
+    private final long[][] itemKeys = new long[BUCKETS][];
+    private final int[] counts = new int[BUCKETS];
+    private long last;
+    private long lastKey;
+    private int size;
+
+    public RadixHeap() {
+        for (int b = 0; b < BUCKETS; b++) {
+            items[b] = new int[8];
+            itemKeys[b] = new long[8];
+        }
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    // Chave do último elemento devolvido por poll()
+    public long lastKey() { return lastKey; }
+
+    public void push(int v, long key) {
+        if (key < last) throw new IllegalArgumentException("Radix heap é monótono: " + key + " < " + last);
+        append(bucketFor(key), v, key);
+        size++;
+    }
+
+    public int poll() {
+        if (size == 0) throw new IllegalStateException("Heap vazio");
+        if (counts[0] == 0) {
+            int b = 1;
+            while (counts[b] == 0) b++;
+
+            int[] bucketItems = items[b];
+            long[] bucketKeys = itemKeys[b];
+            int count = counts[b];
+            long min = bucketKeys[0];
+            for (int i = 1; i < count; i++) min = Math.min(min, bucketKeys[i]);
+
+            // Redistribui o balde inteiro em relação ao novo mínimo; todos vão para baldes menores
+            last = min;
+            counts[b] = 0;
+            for (int i = 0; i < count; i++) append(bucketFor(bucketKeys[i]), bucketItems[i], bucketKeys[i]);
+        }
+        int index = --counts[0];
+        size--;
+        lastKey = itemKeys[0][index];
+        return items[0][index];
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        size = 0;
+        last = 0;
+    }
+
+    private int bucketFor(long key) {
+        return key == last ? 0 : 64 - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    private void append(int bucket, int v, long key) {
+        int count = counts[bucket];
+        if (count == items[bucket].length) {
+            items[bucket] = Arrays.copyOf(items[bucket], count * 2);
+            itemKeys[bucket] = Arrays.copyOf(itemKeys[bucket], count * 2);
+        }
+        items[bucket][count] = v;
+        itemKeys[bucket][count] = key;
+        counts[bucket] = count + 1;
+    }
+}
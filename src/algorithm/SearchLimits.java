@@ -0,0 +1,38 @@
+package algorithm;
+
+import java.time.Duration;
+
+// Limites de uma busca: distância máxima, número máximo de vértices finalizados e tempo máximo.
+// Ao estourar um deles a busca para na hora e informa o motivo (StopReason), em vez de varrer o
+// grafo inteiro atrás de um destino que não vai chegar. Imutável: monte a partir de NONE, ex.:
+//   SearchLimits.NONE.withMaxDistance(500).withTimeout(Duration.ofMillis(20))
+public record SearchLimits(double maxDistance, long maxSettled, long timeoutNanos) {
+
+    public static final SearchLimits NONE = new SearchLimits(Double.POSITIVE_INFINITY, Long.MAX_VALUE, Long.MAX_VALUE);
+
+    public SearchLimits {
+        if (!(maxDistance >= 0)) throw new IllegalArgumentException("Distância máxima inválida: " + maxDistance);
+        if (maxSettled < 0) throw new IllegalArgumentException("Limite de vértices negativo");
+        if (timeoutNanos < 0) throw new IllegalArgumentException("Tempo máximo negativo");
+    }
+
+    public SearchLimits withMaxDistance(double maxDistance) {
+        return new SearchLimits(maxDistance, maxSettled, timeoutNanos);
+    }
+
+    public SearchLimits withMaxSettled(long maxSettled) {
+        return new SearchLimits(maxDistance, maxSettled, timeoutNanos);
+    }
+
+    public SearchLimits withTimeout(Duration timeout) {
+        long nanos;
+        try {
+            nanos = timeout.toNanos();
+        } catch (ArithmeticException tooLong) {
+            nanos = Long.MAX_VALUE;
+        }
+        return new SearchLimits(maxDistance, maxSettled, nanos);
+    }
+
+    public boolean hasTimeout() { return timeoutNanos != Long.MAX_VALUE; }
+}
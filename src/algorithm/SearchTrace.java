@@ -0,0 +1,87 @@
+package algorithm;
+
+import model.Edge;
+import model.Vertex;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+// Gravação compacta dos eventos de uma busca, para reproduzir depois no ritmo que quiser.
+// Cada evento vira um int (índice do objeto << 2 | tipo) mais um double (distância); vértices e
+// arestas entram uma vez só numa tabela própria do trace. A busca roda na velocidade máxima
+// gravando aqui, e quem anima (ex.: app.TracePlayer) lê os eventos com replay().
+// Não é thread-safe: grave numa thread e só leia depois que a busca terminar.
+public final class SearchTrace implements DijkstraListener {
+
+    public static final int VISITING = 0;
+    public static final int FINALIZED = 1;
+    public static final int RELAXED = 2;
+    public static final int REJECTED = 3;
+
+    private int[] codes = new int[64];
+    private double[] values = new double[64];
+    private int size;
+
+    private Object[] objects = new Object[32];
+    private int objectCount;
+    private final Map<Object, Integer> indexOf = new IdentityHashMap<>();
+
+    @Override public void onVertexVisiting(Vertex v) { record(VISITING, v, 0.0); }
+    @Override public void onVertexFinalized(Vertex v) { record(FINALIZED, v, 0.0); }
+    @Override public void onEdgeRelaxed(Edge e, double newDistance) { record(RELAXED, e, newDistance); }
+    @Override public void onEdgeRejected(Edge e, double distanceSent) { record(REJECTED, e, distanceSent); }
+
+    public int size() { return size; }
+    public int type(int event) { return codes[event] & 3; }
+    public double distance(int event) { return values[event]; }
+
+    public Vertex vertex(int event) {
+        int type = type(event);
+        return type == VISITING || type == FINALIZED ? (Vertex) objects[codes[event] >>> 2] : null;
+    }
+
+    public Edge edge(int event) {
+        int type = type(event);
+        return type == RELAXED || type == REJECTED ? (Edge) objects[codes[event] >>> 2] : null;
+    }
+
+    // Entrega os eventos [from, to) ao listener, na ordem em que aconteceram
+    public void replay(int from, int to, DijkstraListener listener) {
+        for (int i = from; i < to; i++) {
+            Object subject = objects[codes[i] >>> 2];
+            switch (codes[i] & 3) {
+                case VISITING -> listener.onVertexVisiting((Vertex) subject);
+                case FINALIZED -> listener.onVertexFinalized((Vertex) subject);
+                case RELAXED -> listener.onEdgeRelaxed((Edge) subject, values[i]);
+                default -> listener.onEdgeRejected((Edge) subject, values[i]);
+            }
+        }
+    }
+
+    public void clear() {
+        size = 0;
+        Arrays.fill(objects, 0, objectCount, null);
+        objectCount = 0;
+        indexOf.clear();
+    }
+
+    private void record(int type, Object subject, double value) {
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        codes[size] = (intern(subject) << 2) | type;
+        values[size] = value;
+        size++;
+    }
+
+    private int intern(Object subject) {
+        Integer index = indexOf.get(subject);
+        if (index != null) return index;
+        if (objectCount == objects.length) objects = Arrays.copyOf(objects, objectCount * 2);
+        objects[objectCount] = subject;
+        indexOf.put(subject, objectCount);
+        return objectCount++;
+    }
+}
@@ -0,0 +1,150 @@
+package algorithm;
+
+import model.Edge;
+import model.Vertex;
+
+import java.util.Arrays;
+
+// Estado reutilizável de uma busca (distâncias, pais, fila).
+// Em vez de limpar os arrays a cada consulta, cada posição guarda a "época" em que foi escrita:
+// reset() só incrementa a época e tudo que foi escrito antes passa a valer como "não visitado".
+// Não é thread-safe: cada busca em andamento usa o seu (veja WorkspacePool).
+public final class SearchWorkspace {
+
+    private int[] stamps;
+    private int epoch;
+
+    private double[] distances;
+    private int[] parents;
+    private double[] estimates;   // dado auxiliar por vértice (ex.: h(v) do A*)
+    private Vertex[] vertices;    // id -> Vertex, usado pelas buscas no grafo de objetos
+    private Edge[] parentEdges;   // id -> aresta que chegou ao vértice (grafo de objetos)
+    private final IntList written = new IntList();  // ids com referência em vertices/parentEdges, até clearReferences
+    private final IndexedHeap heap;
+
+    // Contadores da última busca, gravados pelo solver no fim do laço (veja QueryStats)
+    private long settled, stalePops, relaxationsAccepted, relaxationsRejected;
+    private int peakQueueSize;
+
+    // Filas de baldes, criadas só se alguma busca com pesos inteiros usar este workspace
+    private DialQueue dialQueue;
+    private RadixHeap radixHeap;
+
+    public SearchWorkspace(int capacity) {
+        capacity = Math.max(capacity, 1);
+        this.stamps = new int[capacity];
+        this.distances = new double[capacity];
+        this.parents = new int[capacity];
+        this.estimates = new double[capacity];
+        this.vertices = new Vertex[capacity];
+        this.parentEdges = new Edge[capacity];
+        this.heap = new IndexedHeap(capacity);
+    }
+
+    // Prepara uma nova busca sobre vértices em [0, capacity)
+    public void reset(int capacity) {
+        ensureCapacity(capacity);
+        heap.clear();
+        if (epoch == Integer.MAX_VALUE) {
+            // Estouro da época: aí sim zera tudo uma vez
+            Arrays.fill(stamps, 0);
+            epoch = 0;
+        }
+        epoch++;
+    }
+
+    public int capacity() { return stamps.length; }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity <= stamps.length) return;
+        int newCapacity = Math.max(capacity, stamps.length + (stamps.length >> 1));
+        stamps = Arrays.copyOf(stamps, newCapacity);
+        distances = Arrays.copyOf(distances, newCapacity);
+        parents = Arrays.copyOf(parents, newCapacity);
+        estimates = Arrays.copyOf(estimates, newCapacity);
+        vertices = Arrays.copyOf(vertices, newCapacity);
+        parentEdges = Arrays.copyOf(parentEdges, newCapacity);
+        heap.ensureCapacity(newCapacity);
+    }
+
+    public boolean visited(int v) { return stamps[v] == epoch; }
+
+    public double distance(int v) {
+        return stamps[v] == epoch ? distances[v] : Double.POSITIVE_INFINITY;
+    }
+
+    public int parent(int v) {
+        return stamps[v] == epoch ? parents[v] : -1;
+    }
+
+    public void update(int v, double distance, int parent) {
+        stamps[v] = epoch;
+        distances[v] = distance;
+        parents[v] = parent;
+    }
+
+    // Só é válido para vértices já visitados nesta época
+    public double estimate(int v) { return estimates[v]; }
+    public void setEstimate(int v, double estimate) { estimates[v] = estimate; }
+
+    public Vertex vertex(int v) { return vertices[v]; }
+    public void setVertex(int v, Vertex vertex) {
+        touch(v);
+        vertices[v] = vertex;
+    }
+
+    // Como vertex(): só vale para vértices com pai nesta época
+    public Edge parentEdge(int v) { return parentEdges[v]; }
+    public void setParentEdge(int v, Edge edge) {
+        touch(v);
+        parentEdges[v] = edge;
+    }
+
+    private void touch(int v) {
+        if (vertices[v] == null && parentEdges[v] == null) written.add(v);
+    }
+
+    // Apaga só as posições escritas desde a última chamada, para o workspace não prender o grafo
+    // (cada Edge também prende os seus dois vértices)
+    void clearReferences() {
+        for (int i = 0, size = written.size(); i < size; i++) {
+            int v = written.get(i);
+            vertices[v] = null;
+            parentEdges[v] = null;
+        }
+        written.clear();
+    }
+
+    public IndexedHeap heap() { return heap; }
+
+    public void setCounters(long settled, long stalePops, long relaxationsAccepted, long relaxationsRejected, int peakQueueSize) {
+        this.settled = settled;
+        this.stalePops = stalePops;
+        this.relaxationsAccepted = relaxationsAccepted;
+        this.relaxationsRejected = relaxationsRejected;
+        this.peakQueueSize = peakQueueSize;
+    }
+
+    public QueryStats stats(long nanos) {
+        return new QueryStats(settled, stalePops, relaxationsAccepted, relaxationsRejected, peakQueueSize, nanos);
+    }
+
+    // Fila de Dial vazia, com espaço para vértices em [0, capacity()) e pesos até maxWeight
+    public DialQueue dialQueue(int maxWeight) {
+        if (dialQueue == null) {
+            dialQueue = new DialQueue(stamps.length, maxWeight);
+        } else {
+            dialQueue.clear();
+            dialQueue.ensureCapacity(stamps.length);
+            dialQueue.ensureMaxWeight(maxWeight);
+        }
+        return dialQueue;
+    }
+
+    // Radix heap vazio
+    public RadixHeap radixHeap() {
+        if (radixHeap == null) radixHeap = new RadixHeap();
+        else radixHeap.clear();
+        return radixHeap;
+    }
+}
@@ -0,0 +1,72 @@
+package algorithm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Evento do Java Flight Recorder emitido por consulta do DijkstraSolver. Desligado (o padrão sem
+// gravação em andamento), beginIfEnabled() devolve null e a consulta não mede nada. Para gravar:
+//   java -XX:StartFlightRecording:filename=rec.jfr ...   e depois   jfr print --events algorithm.ShortestPathQuery rec.jfr
+@Name("algorithm.ShortestPathQuery")
+@Label("Shortest Path Query")
+@Category({"Dijkstra Visualizer", "Solver"})
+@Description("Uma consulta de caminho mínimo e o trabalho feito pela busca")
+@StackTrace(false)
+final class ShortestPathQueryEvent extends Event {
+
+    @Label("Queue")
+    @Description("Fila usada: heap, dial ou radix")
+    String queue;
+
+    @Label("Graph")
+    @Description("Grafo de objetos ou retrato CSR")
+    String graph;
+
+    @Label("Found")
+    @Description("Consulta com destino que chegou nele; buscas sem destino (árvore, isócrona) ficam false")
+    boolean found;
+
+    @Label("Distance")
+    double distance;
+
+    @Label("Settled")
+    long settled;
+
+    @Label("Stale Pops")
+    long stalePops;
+
+    @Label("Relaxations Accepted")
+    long relaxationsAccepted;
+
+    @Label("Relaxations Rejected")
+    long relaxationsRejected;
+
+    @Label("Peak Queue Size")
+    int peakQueueSize;
+
+    // Só para perguntar se o evento está ligado: desligado, a consulta não aloca evento nenhum
+    private static final ShortestPathQueryEvent PROBE = new ShortestPathQueryEvent();
+
+    // Evento já iniciado, ou null se nenhuma gravação pede este evento
+    static ShortestPathQueryEvent beginIfEnabled() {
+        if (!PROBE.isEnabled()) return null;
+        ShortestPathQueryEvent event = new ShortestPathQueryEvent();
+        event.begin();
+        return event;
+    }
+
+    void fill(QueryStats stats, String graph, String queue, boolean found, double distance) {
+        this.graph = graph;
+        this.queue = queue;
+        this.found = found;
+        this.distance = distance;
+        this.settled = stats.settled();
+        this.stalePops = stats.stalePops();
+        this.relaxationsAccepted = stats.relaxationsAccepted();
+        this.relaxationsRejected = stats.relaxationsRejected();
+        this.peakQueueSize = stats.peakQueueSize();
+    }
+}
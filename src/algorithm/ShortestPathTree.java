@@ -0,0 +1,73 @@
+package algorithm;
+
+// Resultado de uma busca de fonte única: distância e predecessor de todos os vértices (por índice).
+// Uma árvore atende qualquer destino: os caminhos só são montados quando pedidos (pathTo).
+// Pode ser reaproveitada entre buscas (DijkstraSolver.shortestPathTree(graph, s, tree)): os
+// arrays só são realocados se o grafo crescer.
+public final class ShortestPathTree {
+
+    private int source;
+    private int vertexCount;
+    private double[] distances;
+    private int[] parents;
+
+    public ShortestPathTree(int source, double[] distances, int[] parents) {
+        if (distances.length != parents.length) throw new IllegalArgumentException("Arrays de tamanhos diferentes");
+        this.source = source;
+        this.vertexCount = distances.length;
+        this.distances = distances;
+        this.parents = parents;
+    }
+
+    // Árvore vazia, para ser preenchida por um solver
+    public ShortestPathTree() {
+        this(-1, new double[0], new int[0]);
+    }
+
+    public int source() { return source; }
+    public int vertexCount() { return vertexCount; }
+
+    public double distance(int v) { return distances[checkIndex(v)]; }
+    public int parent(int v) { return parents[checkIndex(v)]; }
+    public boolean isReachable(int v) { return distance(v) != Double.POSITIVE_INFINITY; }
+
+    // Índices dos vértices de 'source' até 'v' (vazio se inalcançável)
+    public int[] pathTo(int v) {
+        if (!isReachable(v)) return new int[0];
+
+        int length = 0;
+        for (int step = v; step >= 0; step = parents[step]) length++;
+
+        int[] path = new int[length];
+        for (int step = v, i = length - 1; step >= 0; step = parents[step]) path[i--] = step;
+        return path;
+    }
+
+    // Número de arestas do caminho até 'v' (-1 se inalcançável), sem montar o caminho
+    public int hopCount(int v) {
+        if (!isReachable(v)) return -1;
+        int hops = 0;
+        for (int step = parents[v]; step >= 0; step = parents[step]) hops++;
+        return hops;
+    }
+
+    // Prepara para uma nova busca com vertexCount vértices; quem chama preenche todos com set()
+    void prepare(int source, int vertexCount) {
+        if (distances.length < vertexCount) {
+            distances = new double[vertexCount];
+            parents = new int[vertexCount];
+        }
+        this.source = source;
+        this.vertexCount = vertexCount;
+    }
+
+    void set(int v, double distance, int parent) {
+        distances[v] = distance;
+        parents[v] = parent;
+    }
+
+    private int checkIndex(int v) {
+        if (v >= vertexCount) throw new IndexOutOfBoundsException("Vértice " + v + " fora da árvore de " + vertexCount);
+        return v;
+    }
+}
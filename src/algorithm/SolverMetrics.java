@@ -0,0 +1,56 @@
+package algorithm;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Acumula o QueryStats de cada consulta de um ou mais solvers (veja DijkstraSolver.setMetrics).
+// Thread-safe: várias threads podem consultar com o mesmo SolverMetrics sem disputar um lock.
+public final class SolverMetrics {
+
+    public record Snapshot(long queries, long settled, long stalePops, long relaxationsAccepted,
+                           long relaxationsRejected, long peakQueueSize, long totalNanos) {
+
+        public double averageMillis() { return queries == 0 ? 0.0 : totalNanos / 1e6 / queries; }
+        public double averageSettled() { return queries == 0 ? 0.0 : (double) settled / queries; }
+    }
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder settled = new LongAdder();
+    private final LongAdder stalePops = new LongAdder();
+    private final LongAdder relaxationsAccepted = new LongAdder();
+    private final LongAdder relaxationsRejected = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator peakQueueSize = new LongAccumulator(Math::max, 0);
+    private volatile QueryStats last;
+
+    public void record(QueryStats stats) {
+        queries.increment();
+        settled.add(stats.settled());
+        stalePops.add(stats.stalePops());
+        relaxationsAccepted.add(stats.relaxationsAccepted());
+        relaxationsRejected.add(stats.relaxationsRejected());
+        totalNanos.add(stats.nanos());
+        peakQueueSize.accumulate(stats.peakQueueSize());
+        last = stats;
+    }
+
+    // Última consulta registrada (null se nenhuma)
+    public QueryStats last() { return last; }
+
+    // Totais desde a criação ou o último reset (o pico é o maior entre todas as consultas)
+    public Snapshot snapshot() {
+        return new Snapshot(queries.sum(), settled.sum(), stalePops.sum(), relaxationsAccepted.sum(),
+                relaxationsRejected.sum(), peakQueueSize.get(), totalNanos.sum());
+    }
+
+    public void reset() {
+        queries.reset();
+        settled.reset();
+        stalePops.reset();
+        relaxationsAccepted.reset();
+        relaxationsRejected.reset();
+        totalNanos.reset();
+        peakQueueSize.reset();
+        last = null;
+    }
+}
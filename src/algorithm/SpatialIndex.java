@@ -0,0 +1,268 @@
+package algorithm;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Índice espacial estático (R-tree empacotada pela curva de Hilbert, no estilo do flatbush).
+// Guarda retângulos identificados por int (pontos são retângulos de largura zero). Os itens são
+// ordenados pela curva de Hilbert e agrupados de NODE_SIZE em NODE_SIZE, nível a nível, então
+// tudo fica em arrays primitivos e a construção é O(n log n). Consultas:
+//  - search: todos os itens que cruzam um retângulo (hit test, seleção por caixa, corte de viewport);
+//  - nearest: os k itens mais próximos de um ponto, em ordem, por busca best-first.
+// Não aceita inserções: se os dados mudarem, construa outro.
+public final class SpatialIndex {
+
+    private static final int NODE_SIZE = 16;
+
+    private final int count;
+    // Por nó (itens primeiro, depois os níveis internos): minX, minY, maxX, maxY
+    private final double[] boxes;
+    // Folha: id do item. Nó interno: posição do primeiro filho.
+    private final int[] indices;
+    // Fim (exclusivo) de cada nível, em número de nós
+    private final int[] levelBounds;
+
+    public static SpatialIndex ofPoints(double[] xs, double[] ys) {
+        return new SpatialIndex(xs, ys, xs, ys);
+    }
+
+    public static SpatialIndex ofBoxes(double[] minX, double[] minY, double[] maxX, double[] maxY) {
+        return new SpatialIndex(minX, minY, maxX, maxY);
+    }
+
+    private SpatialIndex(double[] minX, double[] minY, double[] maxX, double[] maxY) {
+        int n = minX.length;
+        if (minY.length != n || maxX.length != n || maxY.length != n) throw new IllegalArgumentException("Arrays de tamanhos diferentes");
+        this.count = n;
+
+        IntList bounds = new IntList();
+        int nodes = n;
+        int levelSize = n;
+        bounds.add(nodes);
+        while (levelSize > 1) {
+            levelSize = (levelSize + NODE_SIZE - 1) / NODE_SIZE;
+            nodes += levelSize;
+            bounds.add(nodes);
+        }
+        this.levelBounds = bounds.toArray();
+        this.boxes = new double[nodes * 4];
+        this.indices = new int[nodes];
+        if (n == 0) return;
+
+        double globalMinX = Double.POSITIVE_INFINITY, globalMinY = Double.POSITIVE_INFINITY;
+        double globalMaxX = Double.NEGATIVE_INFINITY, globalMaxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            globalMinX = Math.min(globalMinX, minX[i]);
+            globalMinY = Math.min(globalMinY, minY[i]);
+            globalMaxX = Math.max(globalMaxX, maxX[i]);
+            globalMaxY = Math.max(globalMaxY, maxY[i]);
+        }
+
+        // Ordena pelo valor de Hilbert do centro (16 bits por eixo), desempatando pelo id
+        double width = Math.max(globalMaxX - globalMinX, Double.MIN_NORMAL);
+        double height = Math.max(globalMaxY - globalMinY, Double.MIN_NORMAL);
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            int hx = (int) (65535 * ((minX[i] + maxX[i]) / 2 - globalMinX) / width);
+            int hy = (int) (65535 * ((minY[i] + maxY[i]) / 2 - globalMinY) / height);
+            keys[i] = ((hilbert(hx, hy) & 0xFFFFFFFFL) << 32) | i;
+        }
+        if (n > 1 << 16) Arrays.parallelSort(keys);
+        else Arrays.sort(keys);
+
+        for (int pos = 0; pos < n; pos++) {
+            int i = (int) keys[pos];
+            indices[pos] = i;
+            boxes[4 * pos] = minX[i];
+            boxes[4 * pos + 1] = minY[i];
+            boxes[4 * pos + 2] = maxX[i];
+            boxes[4 * pos + 3] = maxY[i];
+        }
+
+        // Cada nó interno cobre até NODE_SIZE nós consecutivos do nível de baixo
+        int pos = 0;
+        int next = n;
+        for (int level = 0; level < levelBounds.length - 1; level++) {
+            int end = levelBounds[level];
+            while (pos < end) {
+                int first = pos;
+                double nodeMinX = Double.POSITIVE_INFINITY, nodeMinY = Double.POSITIVE_INFINITY;
+                double nodeMaxX = Double.NEGATIVE_INFINITY, nodeMaxY = Double.NEGATIVE_INFINITY;
+                for (int k = 0; k < NODE_SIZE && pos < end; k++, pos++) {
+                    nodeMinX = Math.min(nodeMinX, boxes[4 * pos]);
+                    nodeMinY = Math.min(nodeMinY, boxes[4 * pos + 1]);
+                    nodeMaxX = Math.max(nodeMaxX, boxes[4 * pos + 2]);
+                    nodeMaxY = Math.max(nodeMaxY, boxes[4 * pos + 3]);
+                }
+                indices[next] = first;
+                boxes[4 * next] = nodeMinX;
+                boxes[4 * next + 1] = nodeMinY;
+                boxes[4 * next + 2] = nodeMaxX;
+                boxes[4 * next + 3] = nodeMaxY;
+                next++;
+            }
+        }
+    }
+
+    public int size() { return count; }
+
+    // Chama o visitor com o id de cada item que cruza o retângulo (ordem não definida)
+    public void search(double minX, double minY, double maxX, double maxY, IntConsumer visitor) {
+        if (count == 0) return;
+        IntList stack = new IntList();
+        int group = indices.length - 1;    // a raiz é o último nó, sozinha no seu nível
+        while (true) {
+            int end = Math.min(group + NODE_SIZE, upperBound(group));
+            for (int pos = group; pos < end; pos++) {
+                if (boxes[4 * pos + 2] < minX || boxes[4 * pos + 3] < minY || boxes[4 * pos] > maxX || boxes[4 * pos + 1] > maxY) continue;
+                if (group >= count) stack.add(indices[pos]);
+                else visitor.accept(indices[pos]);
+            }
+            if (stack.isEmpty()) return;
+            group = stack.get(stack.size() - 1);
+            stack.truncate(stack.size() - 1);
+        }
+    }
+
+    public void search(double minX, double minY, double maxX, double maxY, IntList out) {
+        search(minX, minY, maxX, maxY, out::add);
+    }
+
+    // Item mais próximo do ponto (distância até o retângulo), ou -1 se nenhum estiver a até maxDistance
+    public int nearest(double x, double y, double maxDistance) {
+        int[] found = nearest(x, y, 1, maxDistance);
+        return found.length == 0 ? -1 : found[0];
+    }
+
+    // Até k itens, do mais próximo para o mais distante
+    public int[] nearest(double x, double y, int k, double maxDistance) {
+        if (count == 0 || k <= 0) return new int[0];
+        double maxDistSq = maxDistance == Double.POSITIVE_INFINITY ? maxDistance : maxDistance * maxDistance;
+        IntList result = new IntList(Math.min(k, 16));
+
+        // Fila de prioridade por distância²; o bit baixo do código diz se é item (1) ou grupo de nós (0)
+        MinQueue queue = new MinQueue();
+        int group = indices.length - 1;
+        while (true) {
+            int end = Math.min(group + NODE_SIZE, upperBound(group));
+            for (int pos = group; pos < end; pos++) {
+                double distSq = boxDistanceSq(x, y, pos);
+                if (distSq > maxDistSq) continue;
+                if (group >= count) queue.push(indices[pos] << 1, distSq);
+                else queue.push((indices[pos] << 1) | 1, distSq);
+            }
+            // Itens no topo já são os mais próximos de tudo que falta
+            while (!queue.isEmpty() && (queue.peek() & 1) == 1) {
+                result.add(queue.poll() >>> 1);
+                if (result.size() == k) return result.toArray();
+            }
+            if (queue.isEmpty()) return result.toArray();
+            group = queue.poll() >>> 1;
+        }
+    }
+
+    private double boxDistanceSq(double x, double y, int pos) {
+        double dx = Math.max(Math.max(boxes[4 * pos] - x, x - boxes[4 * pos + 2]), 0);
+        double dy = Math.max(Math.max(boxes[4 * pos + 1] - y, y - boxes[4 * pos + 3]), 0);
+        return dx * dx + dy * dy;
+    }
+
+    // Fim do nível que contém o nó
+    private int upperBound(int node) {
+        for (int bound : levelBounds) {
+            if (bound > node) return bound;
+        }
+        return levelBounds[levelBounds.length - 1];
+    }
+
+    // Posição na curva de Hilbert de ordem 16 (x, y em [0, 65535])
+    private static int hilbert(int x, int y) {
+        int a = x ^ y;
+        int b = 0xFFFF ^ a;
+        int c = 0xFFFF ^ (x | y);
+        int d = x & (y ^ 0xFFFF);
+
+        int A = a | (b >>> 1);
+        int B = (a >>> 1) ^ a;
+        int C = ((c >>> 1) ^ (b & (d >>> 1))) ^ c;
+        int D = ((a & (c >>> 1)) ^ (d >>> 1)) ^ d;
+
+        a = A; b = B; c = C; d = D;
+        A = (a & (a >>> 2)) ^ (b & (b >>> 2));
+        B = (a & (b >>> 2)) ^ (b & ((a ^ b) >>> 2));
+        C ^= (a & (c >>> 2)) ^ (b & (d >>> 2));
+        D ^= (b & (c >>> 2)) ^ ((a ^ b) & (d >>> 2));
+
+        a = A; b = B; c = C; d = D;
+        A = (a & (a >>> 4)) ^ (b & (b >>> 4));
+        B = (a & (b >>> 4)) ^ (b & ((a ^ b) >>> 4));
+        C ^= (a & (c >>> 4)) ^ (b & (d >>> 4));
+        D ^= (b & (c >>> 4)) ^ ((a ^ b) & (d >>> 4));
+
+        a = A; b = B; c = C; d = D;
+        C ^= (a & (c >>> 8)) ^ (b & (d >>> 8));
+        D ^= (b & (c >>> 8)) ^ ((a ^ b) & (d >>> 8));
+
+        a = C ^ (C >>> 1);
+        b = D ^ (D >>> 1);
+
+        int i0 = x ^ y;
+        int i1 = b | (0xFFFF ^ (i0 | a));
+
+        return (interleave(i1) << 1) | interleave(i0);
+    }
+
+    private static int interleave(int x) {
+        x = (x | (x << 8)) & 0x00FF00FF;
+        x = (x | (x << 4)) & 0x0F0F0F0F;
+        x = (x | (x << 2)) & 0x33333333;
+        x = (x | (x << 1)) & 0x55555555;
+        return x;
+    }
+
+    // Heap binário mínimo de (código, distância), só para o nearest
+    private static final class MinQueue {
+        private int[] codes = new int[32];
+        private double[] priorities = new double[32];
+        private int size;
+
+        boolean isEmpty() { return size == 0; }
+        int peek() { return codes[0]; }
+
+        void push(int code, double priority) {
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+                priorities = Arrays.copyOf(priorities, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (priorities[parent] <= priority) break;
+                codes[i] = codes[parent];
+                priorities[i] = priorities[parent];
+                i = parent;
+            }
+            codes[i] = code;
+            priorities[i] = priority;
+        }
+
+        int poll() {
+            int top = codes[0];
+            int code = codes[--size];
+            double priority = priorities[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && priorities[child + 1] < priorities[child]) child++;
+                if (priorities[child] >= priority) break;
+                codes[i] = codes[child];
+                priorities[i] = priorities[child];
+                i = child;
+            }
+            codes[i] = code;
+            priorities[i] = priority;
+            return top;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package algorithm;
+
+// Por que uma busca parou
+public enum StopReason {
+    // O destino foi finalizado
+    TARGET_REACHED,
+    // A fila esvaziou: tudo que era alcançável (dentro dos limites) foi visitado
+    EXHAUSTED,
+    // A fila esvaziou, mas algum vértice ficou de fora por passar da distância máxima
+    DISTANCE_LIMIT,
+    // Atingiu o número máximo de vértices finalizados
+    SETTLE_LIMIT,
+    // Passou do tempo máximo
+    DEADLINE;
+
+    // Isócronas: o resultado contém tudo dentro do limite de distância?
+    public boolean isComplete() { return this == EXHAUSTED || this == DISTANCE_LIMIT; }
+}
@@ -0,0 +1,72 @@
+package algorithm;
+
+// Pool de SearchWorkspace compartilhado entre threads.
+// Cada consulta pega um workspace, usa e devolve; em regime estável nenhuma consulta aloca
+// arrays novos. A pilha é um array simples protegido por lock para que devolver também
+// não aloque (diferente de uma ConcurrentLinkedDeque, que cria um nó por inserção).
+// Ao voltar, o workspace solta as referências a vértices e arestas (senão o pool manteria vivo
+// todo grafo já consultado). O pool sempre guarda ao menos um workspace, de qualquer tamanho, para
+// consultas seguidas num grafo enorme não realocarem tudo; os demais só ficam enquanto os bytes
+// guardados não passarem de maxRetainedBytes (uma rajada de consultas paralelas num grafo grande
+// não deixa N cópias dos arrays presas no pool para sempre).
+public final class WorkspacePool {
+
+    // Arrays por vértice de capacidade: stamps, distâncias, pais, estimativas, duas referências
+    // e as três do heap (as filas de baldes, quando existem, ficam de fora da conta)
+    static final int BYTES_PER_VERTEX = 48;
+
+    // Um oitavo do heap: com -Xmx12g cabem dezenas de milhões de vértices, e o solver
+    // bidirecional (dois workspaces por consulta) não realoca nem nos grafos de 10^7 arestas
+    public static final long DEFAULT_MAX_RETAINED_BYTES = Runtime.getRuntime().maxMemory() / 8;
+
+    private static final WorkspacePool SHARED = new WorkspacePool(Runtime.getRuntime().availableProcessors() * 2);
+
+    private final SearchWorkspace[] idle;
+    private final long maxRetainedBytes;
+    private int idleCount;
+    private long retainedBytes;     // soma do que está em idle
+
+    public WorkspacePool(int maxIdle) {
+        this(maxIdle, DEFAULT_MAX_RETAINED_BYTES);
+    }
+
+    // Pools de um grafo grande e de vida longa (ex.: o de uma ContractionHierarchy) podem guardar
+    // mais (Long.MAX_VALUE = só o limite de quantidade)
+    public WorkspacePool(int maxIdle, long maxRetainedBytes) {
+        this.idle = new SearchWorkspace[Math.max(maxIdle, 1)];
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    public static WorkspacePool shared() { return SHARED; }
+
+    // Retorna um workspace já preparado (reset) para vértices em [0, capacity)
+    public SearchWorkspace acquire(int capacity) {
+        SearchWorkspace workspace = null;
+        synchronized (this) {
+            if (idleCount > 0) {
+                workspace = idle[--idleCount];
+                idle[idleCount] = null;
+                retainedBytes -= bytes(workspace);
+            }
+        }
+        if (workspace == null) workspace = new SearchWorkspace(capacity);
+        workspace.reset(capacity);
+        return workspace;
+    }
+
+    // Se o pool já estiver cheio (ou passaria do limite de bytes) ele é simplesmente descartado
+    public void release(SearchWorkspace workspace) {
+        workspace.clearReferences();
+        long bytes = bytes(workspace);
+        synchronized (this) {
+            if (idleCount == idle.length) return;
+            if (idleCount > 0 && retainedBytes + bytes > maxRetainedBytes) return;
+            idle[idleCount++] = workspace;
+            retainedBytes += bytes;
+        }
+    }
+
+    private static long bytes(SearchWorkspace workspace) {
+        return (long) workspace.capacity() * BYTES_PER_VERTEX;
+    }
+}
@@ -0,0 +1,577 @@
+package app;
+
+import algorithm.DijkstraListener;
+import algorithm.IntList;
+import algorithm.PathResult;
+import algorithm.SpatialIndex;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.Cursor;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import model.CsrGraph;
+import model.Edge;
+import model.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Modo de desenho alternativo para grafos grandes (100 mil nós ou mais).
+// Em vez de um NodeFX/EdgeFX por elemento, tudo é pintado num único Canvas:
+//  - chamadas agrupadas: um path por cor (todas as arestas verdes num stroke só, etc.);
+//  - repintura parcial: mudar a cor de um elemento só suja o retângulo dele, e no próximo
+//    quadro apenas essa região é limpa e redesenhada;
+//  - pan (arrastar) e zoom (roda do mouse) com nível de detalhe: de longe somem os rótulos
+//    e as setas, e os nós viram pontos de tamanho fixo;
+//  - índice espacial (SpatialIndex) sobre nós e retângulos das arestas: cada quadro só percorre
+//    o que cruza a área repintada, e clique, hover e seleção por caixa (shift + arrastar) não
+//    varrem o grafo inteiro.
+// É só visualização: a edição continua no modo normal.
+public final class CanvasGraphView extends Region {
+
+    // Estados de pintura (índices das paletas)
+    private static final int NORMAL = 0;
+    private static final int VISITING = 1;
+    private static final int FINALIZED = 2;
+    private static final int RELAXED = 3;
+    private static final int REJECTED = 4;
+    private static final int PATH = 5;
+    private static final int START = 6;
+    private static final int END = 7;
+    private static final int SELECTED = 8;
+    private static final int STATE_COUNT = 9;
+
+    private static final Color BACKGROUND = Color.web("#1e1e1e");
+    private static final Color[] VERTEX_COLORS = {
+            Color.web("#00d2ff"), Color.web("#ffd700"), Color.web("#39ff14"), null, null,
+            Color.CYAN, Color.web("#39ff14"), Color.RED, Color.web("#ff007f")
+    };
+    private static final Color[] EDGE_COLORS = {
+            Color.web("#aaaaaa", 0.6), null, null, Color.web("#39ff14"), Color.web("#ff4444", 0.3),
+            Color.CYAN, null, null, null
+    };
+    private static final double[] EDGE_WIDTHS = { 2, 0, 0, 3, 1, 4, 0, 0, 0 };
+
+    private static final double NODE_RADIUS = 15.0;
+    private static final double MIN_PIXEL_RADIUS = 2.0;    // de longe o nó vira um ponto
+    private static final double ARROW_MIN_SCALE = 0.5;
+    private static final double LABEL_MIN_SCALE = 0.8;
+    private static final int MAX_LABELS = 2000;
+
+    private final Canvas canvas = new Canvas();
+
+    // Retrato do grafo (posições copiadas em setGraph)
+    private CsrGraph graph;
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private int[] edgeSources = new int[0];
+    private final Map<Edge, Integer> edgeIndex = new IdentityHashMap<>();
+    private byte[] vertexStates = new byte[0];
+    private byte[] edgeStates = new byte[0];
+    private int startIndex = -1;
+    private int endIndex = -1;
+    private SpatialIndex vertexIndex = SpatialIndex.ofPoints(xs, ys);
+    private SpatialIndex edgeBoxIndex = vertexIndex;
+
+    // Transformação mundo -> tela: tela = mundo * scale + translate
+    private double scale = 1.0;
+    private double translateX;
+    private double translateY;
+
+    // Região suja em coordenadas do mundo (repintura no próximo quadro)
+    private boolean fullRepaint = true;
+    private boolean dirty;
+    private double dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY;
+
+    // Listas reaproveitadas entre quadros: visíveis por estado
+    private final IntList[] visibleEdges = new IntList[STATE_COUNT];
+    private final IntList[] visibleVertices = new IntList[STATE_COUNT];
+
+    private Consumer<Vertex> onVertexClicked;
+    private Consumer<List<Vertex>> onVerticesSelected;
+    private double pressX, pressY, lastDragX, lastDragY;
+    private boolean dragging;
+    private int hoverIndex = -1;
+
+    // Seleção por caixa: retângulo em coordenadas do mundo enquanto o shift + arrastar dura
+    private boolean selecting;
+    private double selMinX, selMinY, selMaxX, selMaxY;
+    private final IntList selected = new IntList();
+
+    private final DijkstraListener searchPainter = new DijkstraListener() {
+        @Override public void onVertexVisiting(Vertex v) { setVertexState(v, VISITING); }
+        @Override public void onVertexFinalized(Vertex v) { setVertexState(v, FINALIZED); }
+        @Override public void onEdgeRelaxed(Edge e, double d) { setEdgeState(e, RELAXED); }
+        @Override public void onEdgeRejected(Edge e, double d) { setEdgeState(e, REJECTED); }
+    };
+
+    public CanvasGraphView() {
+        getChildren().add(canvas);
+        for (int s = 0; s < STATE_COUNT; s++) {
+            visibleEdges[s] = new IntList();
+            visibleVertices[s] = new IntList();
+        }
+        initMouseEvents();
+
+        // Repinta no pulso da tela, só se algo mudou, e só enquanto a view está numa cena:
+        // fora dela (modo editor) o timer para e não segura a view viva
+        AnimationTimer repaint = new AnimationTimer() {
+            @Override
+            public void handle(long now) { repaintIfDirty(); }
+        };
+        sceneProperty().addListener((obs, oldScene, scene) -> {
+            if (scene != null) {
+                fullRepaint = true;
+                repaint.start();
+            } else {
+                repaint.stop();
+            }
+        });
+    }
+
+    @Override
+    protected void layoutChildren() {
+        if (canvas.getWidth() != getWidth() || canvas.getHeight() != getHeight()) {
+            canvas.setWidth(getWidth());
+            canvas.setHeight(getHeight());
+            fullRepaint = true;
+        }
+    }
+
+    // --- Dados ---
+
+    public void setGraph(Collection<Vertex> vertices) {
+        graph = CsrGraph.of(vertices);
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+
+        // Vértices sem posição ganham uma grade simples
+        int columns = (int) Math.ceil(Math.sqrt(n));
+        xs = new double[n];
+        ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            Vertex v = graph.vertex(i);
+            xs[i] = v.hasPosition() ? v.getX() : 60 * (i % columns);
+            ys[i] = v.hasPosition() ? v.getY() : 60 * (i / columns);
+        }
+
+        edgeSources = new int[m];
+        edgeIndex.clear();
+        double[] minX = new double[m], minY = new double[m], maxX = new double[m], maxY = new double[m];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.firstEdge(u), last = graph.endEdge(u); e < last; e++) {
+                int v = graph.target(e);
+                edgeSources[e] = u;
+                edgeIndex.put(graph.edge(e), e);
+                minX[e] = Math.min(xs[u], xs[v]);
+                minY[e] = Math.min(ys[u], ys[v]);
+                maxX[e] = Math.max(xs[u], xs[v]);
+                maxY[e] = Math.max(ys[u], ys[v]);
+            }
+        }
+        vertexIndex = SpatialIndex.ofPoints(xs, ys);
+        edgeBoxIndex = SpatialIndex.ofBoxes(minX, minY, maxX, maxY);
+
+        vertexStates = new byte[n];
+        edgeStates = new byte[m];
+        startIndex = endIndex = hoverIndex = -1;
+        selected.clear();
+        fitToView();
+    }
+
+    public void setEndpoints(Vertex start, Vertex end) {
+        if (startIndex >= 0) markVertexDirty(startIndex);
+        if (endIndex >= 0) markVertexDirty(endIndex);
+        startIndex = indexOf(start);
+        endIndex = indexOf(end);
+        if (startIndex >= 0) markVertexDirty(startIndex);
+        if (endIndex >= 0) markVertexDirty(endIndex);
+    }
+
+    public void resetColors() {
+        Arrays.fill(vertexStates, (byte) NORMAL);
+        Arrays.fill(edgeStates, (byte) NORMAL);
+        selected.clear();
+        fullRepaint = true;
+    }
+
+    public void highlightPath(PathResult path) {
+        for (Vertex v : path.vertices()) setVertexState(v, PATH);
+        for (Edge e : path.edges()) setEdgeState(e, PATH);
+    }
+
+    // Listener que pinta os eventos da busca (use na thread do JavaFX, ex.: via TracePlayer)
+    public DijkstraListener searchPainter() { return searchPainter; }
+
+    public void setOnVertexClicked(Consumer<Vertex> handler) { this.onVertexClicked = handler; }
+
+    // Chamado ao fim de uma seleção por caixa (shift + arrastar) com os nós dentro dela
+    public void setOnVerticesSelected(Consumer<List<Vertex>> handler) { this.onVerticesSelected = handler; }
+
+    // Vértice sob o ponto da tela (ou null)
+    public Vertex vertexAt(double screenX, double screenY) {
+        int i = vertexIndexAt(screenX, screenY);
+        return i < 0 ? null : graph.vertex(i);
+    }
+
+    private int vertexIndexAt(double screenX, double screenY) {
+        if (graph == null) return -1;
+        double wx = (screenX - translateX) / scale;
+        double wy = (screenY - translateY) / scale;
+        return vertexIndex.nearest(wx, wy, nodeRadius() + 3 / scale);
+    }
+
+    // Enquadra o grafo inteiro na área visível
+    public void fitToView() {
+        fullRepaint = true;
+        if (xs.length == 0) {
+            scale = 1.0;
+            translateX = translateY = 0;
+            return;
+        }
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < xs.length; i++) {
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        double width = getWidth() > 0 ? getWidth() : 1000;
+        double height = getHeight() > 0 ? getHeight() : 600;
+        double margin = 2 * NODE_RADIUS + 20;
+        scale = Math.min(1.5, Math.min((width - 2 * margin) / Math.max(maxX - minX, 1),
+                (height - 2 * margin) / Math.max(maxY - minY, 1)));
+        translateX = (width - (maxX - minX) * scale) / 2 - minX * scale;
+        translateY = (height - (maxY - minY) * scale) / 2 - minY * scale;
+    }
+
+    // --- Estado e região suja ---
+
+    private int indexOf(Vertex v) { return v == null || graph == null ? -1 : graph.indexOf(v); }
+
+    private void setVertexState(Vertex v, int state) {
+        int i = indexOf(v);
+        if (i >= 0) setVertexState(i, state);
+    }
+
+    private void setVertexState(int i, int state) {
+        if (vertexStates[i] == state) return;
+        vertexStates[i] = (byte) state;
+        markVertexDirty(i);
+    }
+
+    private void setEdgeState(Edge edge, int state) {
+        Integer e = edgeIndex.get(edge);
+        if (e != null) setEdgeState(e, state);
+    }
+
+    private void setEdgeState(int e, int state) {
+        if (edgeStates[e] == state) return;
+        edgeStates[e] = (byte) state;
+        markEdgeDirty(e);
+    }
+
+    private void markVertexDirty(int i) {
+        double r = nodeRadius() + 4 / scale;
+        markDirty(xs[i] - r, ys[i] - r, xs[i] + r, ys[i] + r);
+    }
+
+    private void markEdgeDirty(int e) {
+        int u = edgeSources[e];
+        int v = graph.target(e);
+        // Folga para a seta, o rótulo do peso e os nós das pontas (desenhados por cima da aresta)
+        double pad = Math.max(NODE_RADIUS + 20, nodeRadius() + 6 / scale);
+        markDirty(Math.min(xs[u], xs[v]) - pad, Math.min(ys[u], ys[v]) - pad,
+                Math.max(xs[u], xs[v]) + pad, Math.max(ys[u], ys[v]) + pad);
+    }
+
+    private void markDirty(double minX, double minY, double maxX, double maxY) {
+        if (!dirty) {
+            dirty = true;
+            dirtyMinX = minX;
+            dirtyMinY = minY;
+            dirtyMaxX = maxX;
+            dirtyMaxY = maxY;
+            return;
+        }
+        dirtyMinX = Math.min(dirtyMinX, minX);
+        dirtyMinY = Math.min(dirtyMinY, minY);
+        dirtyMaxX = Math.max(dirtyMaxX, maxX);
+        dirtyMaxY = Math.max(dirtyMaxY, maxY);
+    }
+
+    private void repaintIfDirty() {
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        if (width <= 0 || height <= 0) return;
+
+        if (fullRepaint) {
+            paint(0, 0, width, height);
+        } else if (dirty) {
+            double minX = Math.max(0, Math.floor(dirtyMinX * scale + translateX) - 1);
+            double minY = Math.max(0, Math.floor(dirtyMinY * scale + translateY) - 1);
+            double maxX = Math.min(width, Math.ceil(dirtyMaxX * scale + translateX) + 1);
+            double maxY = Math.min(height, Math.ceil(dirtyMaxY * scale + translateY) + 1);
+            if (maxX > minX && maxY > minY) paint(minX, minY, maxX - minX, maxY - minY);
+        }
+        fullRepaint = false;
+        dirty = false;
+    }
+
+    // --- Desenho ---
+
+    private double nodeRadius() { return Math.max(NODE_RADIUS, MIN_PIXEL_RADIUS / scale); }
+
+    // Redesenha o retângulo da tela (x, y, w, h): limpa e pinta só o que cruza a região
+    private void paint(double x, double y, double w, double h) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.save();
+        gc.beginPath();
+        gc.rect(x, y, w, h);
+        gc.clip();
+        gc.setFill(BACKGROUND);
+        gc.fillRect(x, y, w, h);
+
+        if (graph != null) {
+            gc.setTransform(scale, 0, 0, scale, translateX, translateY);
+            double r = nodeRadius();
+            double minX = (x - translateX) / scale - r;
+            double minY = (y - translateY) / scale - r;
+            double maxX = (x + w - translateX) / scale + r;
+            double maxY = (y + h - translateY) / scale + r;
+
+            collectVisible(minX, minY, maxX, maxY);
+            drawEdges(gc);
+            drawVertices(gc, r);
+            drawLabels(gc);
+            drawOverlay(gc, r);
+        }
+        gc.restore();
+    }
+
+    private void collectVisible(double minX, double minY, double maxX, double maxY) {
+        for (int s = 0; s < STATE_COUNT; s++) {
+            visibleEdges[s].clear();
+            visibleVertices[s].clear();
+        }
+        edgeBoxIndex.search(minX, minY, maxX, maxY, e -> visibleEdges[edgeStates[e]].add(e));
+        vertexIndex.search(minX, minY, maxX, maxY, i -> {
+            int state = i == startIndex ? START : i == endIndex ? END : vertexStates[i];
+            visibleVertices[state].add(i);
+        });
+    }
+
+    private void drawEdges(GraphicsContext gc) {
+        boolean arrows = scale >= ARROW_MIN_SCALE;
+        double shorten = NODE_RADIUS + 5;
+        double arrowLength = 10;
+
+        for (int s = 0; s < STATE_COUNT; s++) {
+            IntList edges = visibleEdges[s];
+            if (edges.isEmpty()) continue;
+
+            gc.setStroke(EDGE_COLORS[s]);
+            // De longe a espessura fica fixa em pixels; de perto cresce com o zoom
+            gc.setLineWidth(EDGE_WIDTHS[s] / Math.min(scale, 1.0));
+            gc.beginPath();
+            for (int k = 0; k < edges.size(); k++) {
+                int e = edges.get(k);
+                int u = edgeSources[e];
+                int v = graph.target(e);
+                double angle = Math.atan2(ys[v] - ys[u], xs[v] - xs[u]);
+                gc.moveTo(xs[u], ys[u]);
+                gc.lineTo(xs[v] - shorten * Math.cos(angle), ys[v] - shorten * Math.sin(angle));
+            }
+            gc.stroke();
+
+            if (!arrows) continue;
+            gc.setFill(EDGE_COLORS[s]);
+            gc.beginPath();
+            for (int k = 0; k < edges.size(); k++) {
+                int e = edges.get(k);
+                int u = edgeSources[e];
+                int v = graph.target(e);
+                double angle = Math.atan2(ys[v] - ys[u], xs[v] - xs[u]);
+                double tipX = xs[v] - shorten * Math.cos(angle);
+                double tipY = ys[v] - shorten * Math.sin(angle);
+                gc.moveTo(tipX, tipY);
+                gc.lineTo(tipX - arrowLength * Math.cos(angle - Math.PI / 6), tipY - arrowLength * Math.sin(angle - Math.PI / 6));
+                gc.lineTo(tipX - arrowLength * Math.cos(angle + Math.PI / 6), tipY - arrowLength * Math.sin(angle + Math.PI / 6));
+                gc.closePath();
+            }
+            gc.fill();
+        }
+    }
+
+    private void drawVertices(GraphicsContext gc, double r) {
+        // Com o nó menor que alguns pixels, quadrado é indistinguível de círculo e bem mais barato
+        boolean circles = r * scale >= 4;
+        for (int s = 0; s < STATE_COUNT; s++) {
+            IntList vertices = visibleVertices[s];
+            if (vertices.isEmpty()) continue;
+
+            gc.setFill(VERTEX_COLORS[s]);
+            gc.beginPath();
+            for (int k = 0; k < vertices.size(); k++) {
+                int i = vertices.get(k);
+                if (circles) {
+                    gc.moveTo(xs[i] + r, ys[i]);
+                    gc.arc(xs[i], ys[i], r, r, 0, 360);
+                } else {
+                    gc.rect(xs[i] - r, ys[i] - r, 2 * r, 2 * r);
+                }
+            }
+            gc.fill();
+        }
+    }
+
+    private void drawLabels(GraphicsContext gc) {
+        if (scale < LABEL_MIN_SCALE) return;
+        int visible = 0;
+        for (int s = 0; s < STATE_COUNT; s++) visible += visibleVertices[s].size() + visibleEdges[s].size();
+        if (visible > MAX_LABELS) return;
+
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setFont(Font.font("Segoe UI", FontWeight.BOLD, 11));
+        gc.setFill(Color.WHITE);
+        for (int s = 0; s < STATE_COUNT; s++) {
+            IntList edges = visibleEdges[s];
+            for (int k = 0; k < edges.size(); k++) {
+                int e = edges.get(k);
+                int u = edgeSources[e];
+                int v = graph.target(e);
+                gc.fillText(String.valueOf((int) graph.weight(e)), (xs[u] + xs[v]) / 2, (ys[u] + ys[v]) / 2);
+            }
+            IntList vertices = visibleVertices[s];
+            for (int k = 0; k < vertices.size(); k++) {
+                int i = vertices.get(k);
+                gc.fillText(graph.vertex(i).getName(), xs[i], ys[i]);
+            }
+        }
+    }
+
+    // Anel do nó sob o mouse e retângulo da seleção em andamento
+    private void drawOverlay(GraphicsContext gc, double r) {
+        gc.setStroke(Color.WHITE);
+        gc.setLineWidth(2 / scale);
+        if (hoverIndex >= 0) gc.strokeOval(xs[hoverIndex] - r - 2 / scale, ys[hoverIndex] - r - 2 / scale, 2 * r + 4 / scale, 2 * r + 4 / scale);
+        if (selecting) {
+            gc.setLineWidth(1 / scale);
+            gc.setLineDashes(4 / scale);
+            gc.strokeRect(selMinX, selMinY, selMaxX - selMinX, selMaxY - selMinY);
+            gc.setLineDashes();
+        }
+    }
+
+    // --- Hover e seleção ---
+
+    private void setHover(int i) {
+        if (i == hoverIndex) return;
+        if (hoverIndex >= 0) markVertexDirty(hoverIndex);
+        hoverIndex = i;
+        if (i >= 0) markVertexDirty(i);
+        setCursor(i >= 0 ? Cursor.HAND : Cursor.DEFAULT);
+    }
+
+    private void markSelectionDirty() {
+        double pad = 2 / scale;
+        markDirty(selMinX - pad, selMinY - pad, selMaxX + pad, selMaxY + pad);
+    }
+
+    private void updateSelection(double screenX, double screenY) {
+        markSelectionDirty();
+        double ax = (pressX - translateX) / scale, ay = (pressY - translateY) / scale;
+        double bx = (screenX - translateX) / scale, by = (screenY - translateY) / scale;
+        selMinX = Math.min(ax, bx);
+        selMinY = Math.min(ay, by);
+        selMaxX = Math.max(ax, bx);
+        selMaxY = Math.max(ay, by);
+        markSelectionDirty();
+    }
+
+    private void finishSelection() {
+        selecting = false;
+        markSelectionDirty();
+        for (int k = 0; k < selected.size(); k++) {
+            int i = selected.get(k);
+            if (vertexStates[i] == SELECTED) setVertexState(i, NORMAL);
+        }
+        selected.clear();
+        vertexIndex.search(selMinX, selMinY, selMaxX, selMaxY, selected);
+
+        List<Vertex> vertices = new ArrayList<>(selected.size());
+        for (int k = 0; k < selected.size(); k++) {
+            int i = selected.get(k);
+            setVertexState(i, SELECTED);
+            vertices.add(graph.vertex(i));
+        }
+        if (onVerticesSelected != null) onVerticesSelected.accept(vertices);
+    }
+
+    // --- Pan e zoom ---
+
+    private void initMouseEvents() {
+        setOnScroll(event -> {
+            double factor = Math.exp(event.getDeltaY() * 0.0015);
+            double newScale = Math.max(1e-4, Math.min(scale * factor, 20));
+            // Mantém fixo o ponto do mundo sob o cursor
+            translateX = event.getX() - (event.getX() - translateX) * newScale / scale;
+            translateY = event.getY() - (event.getY() - translateY) * newScale / scale;
+            scale = newScale;
+            fullRepaint = true;
+            event.consume();
+        });
+
+        setOnMouseMoved(event -> setHover(vertexIndexAt(event.getX(), event.getY())));
+        setOnMouseExited(event -> setHover(-1));
+
+        setOnMousePressed(event -> {
+            pressX = lastDragX = event.getX();
+            pressY = lastDragY = event.getY();
+            dragging = false;
+            selecting = event.isShiftDown() && graph != null;
+            if (selecting) updateSelection(pressX, pressY);
+        });
+
+        setOnMouseDragged(event -> {
+            if (Math.abs(event.getX() - pressX) + Math.abs(event.getY() - pressY) > 3) dragging = true;
+            if (!dragging) return;
+            if (selecting) {
+                updateSelection(event.getX(), event.getY());
+                return;
+            }
+            translateX += event.getX() - lastDragX;
+            translateY += event.getY() - lastDragY;
+            lastDragX = event.getX();
+            lastDragY = event.getY();
+            fullRepaint = true;
+        });
+
+        setOnMouseReleased(event -> {
+            if (selecting) {
+                if (dragging) finishSelection();
+                else {
+                    selecting = false;
+                    markSelectionDirty();
+                }
+            }
+            if (!dragging && onVertexClicked != null) {
+                Vertex v = vertexAt(event.getX(), event.getY());
+                if (v != null) onVertexClicked.accept(v);
+            }
+            dragging = false;
+        });
+    }
+}
@@ -1,7 +1,11 @@
 package app;
 
+import algorithm.AStarSolver;
 import algorithm.DijkstraListener;
 import algorithm.DijkstraSolver;
+import algorithm.Heuristics;
+import algorithm.PathResult;
+import algorithm.SearchTrace;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -18,6 +22,7 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 import model.Edge;
+import model.Graph;
 import model.Vertex;
 
 import java.util.ArrayList;
@@ -28,9 +33,11 @@ import java.util.Optional;
 
 public class GraphMain extends Application {
 
+    private BorderPane root;
     private Pane graphPane;
     private ToggleGroup modeGroup;
     private Label statusLabel;
+    private ComboBox<String> algorithmChoice;
 
     private enum Mode { MOVE, ADD_NODE, ADD_EDGE, SELECT_SOURCE, SELECT_TARGET, REMOVE, NONE }
     private Mode currentMode = Mode.NONE;
@@ -40,9 +47,24 @@ public class GraphMain extends Application {
     private Vertex endNode = null;
     private int nodeCounter = 1;
 
+    private Graph editorGraph = new Graph();
     private Map<Vertex, NodeFX> nodeMap = new HashMap<>();
     private Map<Edge, EdgeFX> edgeMap = new HashMap<>();
 
+    // Reprodução da última busca
+    private TracePlayer player;
+    private HBox playbackBar;
+    private Button btnPlayPause;
+    private Slider speedSlider;
+    private Slider seekSlider;
+    private boolean updatingSeek = false;
+
+    // Modo Canvas: visualização de grafos grandes, sem um NodeFX/EdgeFX por elemento
+    private CanvasGraphView canvasView;
+    private boolean canvasMode = false;
+    private List<Vertex> canvasVertices = new ArrayList<>();
+    private int canvasGeneration; // descarta gerações em andamento que ficaram velhas
+
     // CORES GLOBAIS
     private final String BG_COLOR = "#1e1e1e";
     private final String TOOLBAR_COLOR = "#2d2d2d";
@@ -51,7 +73,7 @@ public class GraphMain extends Application {
 
     @Override
     public void start(Stage primaryStage) {
-        BorderPane root = new BorderPane();
+        root = new BorderPane();
         root.setStyle("-fx-background-color: " + BG_COLOR + ";");
 
         // 1. ÁREA DO GRAFO
@@ -68,6 +90,10 @@ public class GraphMain extends Application {
         });
 
         root.setCenter(graphPane);
+
+        canvasView = new CanvasGraphView();
+        canvasView.setOnVertexClicked(this::handleCanvasClick);
+        canvasView.setOnVerticesSelected(selection -> statusLabel.setText(selection.size() + " nós selecionados."));
         root.setTop(createToolBar());
 
         statusLabel = new Label("Bem-vindo ao Dijkstra Visualizer! Selecione uma ferramenta.");
@@ -75,7 +101,10 @@ public class GraphMain extends Application {
         statusLabel.setTextFill(Color.web(TEXT_COLOR));
         statusLabel.setFont(Font.font("Consolas", 14));
         statusLabel.setStyle("-fx-background-color: " + TOOLBAR_COLOR + "; -fx-border-color: #444; -fx-border-width: 1 0 0 0;");
-        root.setBottom(statusLabel);
+        statusLabel.setMaxWidth(Double.MAX_VALUE);
+
+        playbackBar = createPlaybackBar();
+        root.setBottom(new VBox(playbackBar, statusLabel));
 
         Scene scene = new Scene(root, 1000, 700);
 
@@ -171,8 +200,22 @@ public class GraphMain extends Application {
         btnReset.setStyle("-fx-background-color: #e67e22; -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 5; -fx-cursor: hand;");
         btnReset.setOnAction(e -> resetAlgorithm());
 
+        // Alterna entre o editor (um nó JavaFX por elemento) e o Canvas, para grafos grandes
+        ToggleButton btnCanvas = new ToggleButton("🖼 Canvas");
+        btnCanvas.setStyle(btnStyle);
+        btnCanvas.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            btnCanvas.setStyle(newVal ? btnSelectedStyle : btnStyle);
+            setCanvasMode(newVal);
+        });
+
+        // Escolha do algoritmo: Dijkstra puro ou A* guiado pela posição dos nós
+        algorithmChoice = new ComboBox<>();
+        algorithmChoice.getItems().addAll("Dijkstra", "A* (Euclidiana)", "A* (Manhattan)");
+        algorithmChoice.getSelectionModel().selectFirst();
+        algorithmChoice.setStyle("-fx-background-color: #3e3e3e; -fx-text-fill: white; -fx-background-radius: 5;");
+
         // Adicionei o sep3 e o btnReset na barra
-        ToolBar tb = new ToolBar(btnMove, btnAddNode, btnAddEdge, sep1, btnRemove, sep2, btnSetStart, btnSetEnd, sep3, btnRandom, btnReset, btnRun, btnClear);
+        ToolBar tb = new ToolBar(btnMove, btnAddNode, btnAddEdge, sep1, btnRemove, sep2, btnSetStart, btnSetEnd, sep3, btnCanvas, btnRandom, btnReset, algorithmChoice, btnRun, btnClear);
         tb.setStyle("-fx-background-color: " + TOOLBAR_COLOR + "; -fx-padding: 10px; -fx-spacing: 10px;");
         return tb;
     }
@@ -202,9 +245,47 @@ public class GraphMain extends Application {
         }
     }
 
+    private void setCanvasMode(boolean enabled) {
+        stopPlayback();
+        canvasMode = enabled;
+        canvasGeneration++;
+        if (enabled) {
+            // Começa mostrando o grafo do editor; "Gerar Grafo" no modo Canvas cria um grafo grande
+            canvasVertices = new ArrayList<>(nodeMap.keySet());
+            canvasView.setGraph(canvasVertices);
+            canvasView.setEndpoints(startNode, endNode);
+            root.setCenter(canvasView);
+            statusLabel.setText("🖼 Modo Canvas: arraste para mover, role para zoom, shift + arrastar seleciona. Use 🚩/🏁 e clique nos nós.");
+        } else {
+            canvasVertices = new ArrayList<>();
+            if (startNode != null && !nodeMap.containsKey(startNode)) startNode = null;
+            if (endNode != null && !nodeMap.containsKey(endNode)) endNode = null;
+            root.setCenter(graphPane);
+            resetColors();
+            statusLabel.setText("Modo editor.");
+        }
+    }
+
+    private void handleCanvasClick(Vertex v) {
+        switch (currentMode) {
+            case SELECT_SOURCE:
+                startNode = v;
+                statusLabel.setText("🚩 Partida: " + v.getName());
+                break;
+            case SELECT_TARGET:
+                endNode = v;
+                statusLabel.setText("🏁 Destino: " + v.getName());
+                break;
+            default:
+                statusLabel.setText(v.getName() + " (o modo Canvas é só visualização)");
+                return;
+        }
+        resetColors();
+    }
+
     private void createNode(double x, double y) {
         String name = "No " + nodeCounter++;
-        Vertex v = new Vertex(name);
+        Vertex v = editorGraph.addVertex(name);
         NodeFX nodeFX = new NodeFX(v, x, y);
         nodeFX.setDraggable(currentMode == Mode.MOVE);
         nodeFX.setOnNodeClickListener(this::handleNodeClick);
@@ -253,15 +334,13 @@ public class GraphMain extends Application {
     }
 
     private void removeNode(Vertex v) {
-        List<Edge> edgesToRemove = new ArrayList<>();
-        for (Vertex other : nodeMap.keySet()) {
-            for (Edge e : other.getEdges()) {
-                if (e.getTarget() == v || other == v) edgesToRemove.add(e);
-            }
-        }
+        // Só as arestas que saem e as que chegam (índice reverso), sem varrer o grafo
+        List<Edge> edgesToRemove = new ArrayList<>(v.getEdges());
+        edgesToRemove.addAll(v.getIncomingEdges());
         for (Edge e : edgesToRemove) removeEdge(e);
         graphPane.getChildren().remove(nodeMap.get(v));
         nodeMap.remove(v);
+        editorGraph.removeVertex(v);
         if (startNode == v) startNode = null;
         if (endNode == v) endNode = null;
     }
@@ -271,7 +350,7 @@ public class GraphMain extends Application {
             graphPane.getChildren().remove(edgeMap.get(e));
             edgeMap.remove(e);
         }
-        for (Vertex v : nodeMap.keySet()) v.getEdges().remove(e);
+        e.getSource().removeEdge(e);
     }
 
     private void askWeightAndCreateEdge(Vertex source, Vertex target) {
@@ -325,8 +404,7 @@ public class GraphMain extends Application {
                     return; // Cancela a criação
                 }
 
-                source.addEdge(target, weight);
-                Edge realEdge = source.getEdges().get(source.getEdges().size() - 1);
+                Edge realEdge = source.addEdge(target, weight);
                 NodeFX sourceFX = nodeMap.get(source);
                 NodeFX targetFX = nodeMap.get(target);
                 EdgeFX edgeFX = new EdgeFX(realEdge, sourceFX, targetFX);
@@ -354,77 +432,162 @@ public class GraphMain extends Application {
             return;
         }
 
+        stopPlayback();
         statusLabel.setText("🚀 Calculando rota...");
         resetColors();
 
+        String algorithm = algorithmChoice.getValue();
+        List<Vertex> graph = canvasMode ? canvasVertices : new ArrayList<>(nodeMap.keySet());
+        Vertex start = startNode;
+        Vertex end = endNode;
+
+        // O algoritmo roda na velocidade máxima gravando os eventos; a animação vem depois
         new Thread(() -> {
-            DijkstraSolver solver = new DijkstraSolver();
-
-            solver.setListener(new DijkstraListener() {
-                @Override
-                public void onVertexVisiting(Vertex v) {
-                    Platform.runLater(() -> {
-                        if (v != startNode && v != endNode && nodeMap.containsKey(v)) {
-                            nodeMap.get(v).setColor(Color.YELLOW);
-                        }
-                        statusLabel.setText("Visitando: " + v.getName());
-                    });
-                    sleep(400);
-                }
-                @Override
-                public void onVertexFinalized(Vertex v) {
-                    Platform.runLater(() -> {
-                        if (v != startNode && v != endNode && nodeMap.containsKey(v)) {
-                            nodeMap.get(v).setColor(Color.LIGHTGREEN);
-                        }
-                    });
-                    sleep(100);
-                }
-                @Override
-                public void onEdgeRelaxed(Edge e, double d) {
-                    Platform.runLater(() -> {
-                        EdgeFX fx = edgeMap.get(e);
-                        if(fx != null) { fx.setStroke(Color.GREEN); fx.setStrokeWidth(3); }
-                    });
-                    sleep(300);
-                }
-                @Override
-                public void onEdgeRejected(Edge e, double d) {
-                    Platform.runLater(() -> {
-                        EdgeFX fx = edgeMap.get(e);
-                        if(fx != null) { fx.setStroke(Color.RED); fx.setStrokeWidth(1); }
-                    });
-                    sleep(50);
-                }
-            });
+            SearchTrace trace = new SearchTrace();
+            PathResult path;
+            if (algorithm.startsWith("A*")) {
+                AStarSolver solver = new AStarSolver(algorithm.contains("Manhattan")
+                        ? Heuristics.manhattan(graph)
+                        : Heuristics.euclidean(graph));
+                solver.setListener(trace);
+                path = solver.findPath(start, end);
+            } else {
+                DijkstraSolver solver = new DijkstraSolver();
+                solver.setListener(trace);
+                path = solver.findPath(start, end);
+            }
 
-            // Captura o resultado
-            java.util.List<Vertex> path = solver.findShortestPath(startNode, endNode);
+            Platform.runLater(() -> startPlayback(trace, path, end));
+        }).start();
+    }
 
-            Platform.runLater(() -> {
-                // --- VERIFICAÇÃO DE CAMINHO VAZIO ---
-                if (path.isEmpty()) {
-                    statusLabel.setText("❌ ERRO: Destino inalcançável!");
+    // Pinta os eventos do trace; chamado pelo TracePlayer na thread do JavaFX
+    private final DijkstraListener traceRenderer = new DijkstraListener() {
+        @Override
+        public void onVertexVisiting(Vertex v) {
+            if (v != startNode && v != endNode && nodeMap.containsKey(v)) {
+                nodeMap.get(v).setColor(Color.YELLOW);
+            }
+            statusLabel.setText("Visitando: " + v.getName());
+        }
+        @Override
+        public void onVertexFinalized(Vertex v) {
+            if (v != startNode && v != endNode && nodeMap.containsKey(v)) {
+                nodeMap.get(v).setColor(Color.LIGHTGREEN);
+            }
+        }
+        @Override
+        public void onEdgeRelaxed(Edge e, double d) {
+            EdgeFX fx = edgeMap.get(e);
+            if(fx != null) { fx.setStroke(Color.GREEN); fx.setStrokeWidth(3); }
+        }
+        @Override
+        public void onEdgeRejected(Edge e, double d) {
+            EdgeFX fx = edgeMap.get(e);
+            if(fx != null) { fx.setStroke(Color.RED); fx.setStrokeWidth(1); }
+        }
+    };
+
+    private void startPlayback(SearchTrace trace, PathResult path, Vertex end) {
+        stopPlayback();
+        player = new TracePlayer(trace, canvasMode ? canvasView.searchPainter() : traceRenderer, this::resetColors);
+        player.setSpeed(Math.pow(10, speedSlider.getValue()));
+        player.setOnProgress(position -> {
+            updatingSeek = true;
+            seekSlider.setValue(position);
+            updatingSeek = false;
+            btnPlayPause.setText(player.isPaused() ? "▶" : "⏸");
+        });
+        player.setOnFinished(() -> {
+            btnPlayPause.setText("▶");
+            showResult(path, end);
+        });
 
-                    if (nodeMap.containsKey(endNode)) {
-                        nodeMap.get(endNode).setColor(Color.RED); // Destino fica VERMELHO
-                    }
+        seekSlider.setMax(Math.max(trace.size(), 1));
+        playbackBar.setDisable(false);
+        player.play();
+    }
 
-                    showErrorDialog("Rota Impossível",
-                            "O algoritmo terminou mas não conseguiu chegar em " + endNode.getName() + ".\n" +
-                                    "Verifique se as setas estão apontando para a direção correta.");
+    private void stopPlayback() {
+        if (player != null) player.stop();
+        player = null;
+        playbackBar.setDisable(true);
+        updatingSeek = true;
+        seekSlider.setValue(0);
+        updatingSeek = false;
+    }
 
-                } else {
-                    double totalCost = calculatePathCost(path);
-                    statusLabel.setText("✅ Sucesso! Custo Total: " + totalCost);
-                    highlightPath(path);
-                }
-            });
+    private void showResult(PathResult path, Vertex end) {
+        // --- VERIFICAÇÃO DE CAMINHO VAZIO ---
+        if (!path.isFound()) {
+            statusLabel.setText("❌ ERRO: Destino inalcançável!");
 
-        }).start();
+            if (nodeMap.containsKey(end)) {
+                nodeMap.get(end).setColor(Color.RED); // Destino fica VERMELHO
+            }
+
+            showErrorDialog("Rota Impossível",
+                    "O algoritmo terminou mas não conseguiu chegar em " + end.getName() + ".\n" +
+                            "Verifique se as setas estão apontando para a direção correta.");
+
+        } else {
+            statusLabel.setText("✅ Sucesso! Custo Total: " + path.distance() + " (" + path.hopCount() + " arestas)");
+            highlightPath(path);
+        }
+    }
+
+    // Controles da reprodução: play/pausa, passo, avanço rápido, velocidade e posição
+    private HBox createPlaybackBar() {
+        String btnStyle = "-fx-background-color: #3e3e3e; -fx-text-fill: white; -fx-background-radius: 5; -fx-cursor: hand;";
+
+        btnPlayPause = new Button("▶");
+        btnPlayPause.setStyle(btnStyle);
+        btnPlayPause.setOnAction(e -> {
+            if (player == null) return;
+            player.togglePause();
+            btnPlayPause.setText(player.isPaused() ? "▶" : "⏸");
+        });
+
+        Button btnStep = new Button("⏭ Passo");
+        btnStep.setStyle(btnStyle);
+        btnStep.setOnAction(e -> {
+            if (player != null) player.step();
+        });
+
+        Button btnFastForward = new Button("⏩ Fim");
+        btnFastForward.setStyle(btnStyle);
+        btnFastForward.setOnAction(e -> {
+            if (player != null) player.fastForward();
+        });
+
+        // Eventos por segundo, em escala logarítmica (1 a 10.000)
+        Label speedLabel = new Label("Velocidade");
+        speedLabel.setTextFill(Color.web(TEXT_COLOR));
+        speedSlider = new Slider(0, 4, Math.log10(8));
+        speedSlider.setPrefWidth(120);
+        speedSlider.valueProperty().addListener((o, old, v) -> {
+            if (player != null) player.setSpeed(Math.pow(10, v.doubleValue()));
+        });
+
+        seekSlider = new Slider(0, 1, 0);
+        HBox.setHgrow(seekSlider, Priority.ALWAYS);
+        seekSlider.valueProperty().addListener((o, old, v) -> {
+            if (!updatingSeek && player != null) player.seek((int) Math.round(v.doubleValue()));
+        });
+
+        HBox bar = new HBox(10, btnPlayPause, btnStep, btnFastForward, speedLabel, speedSlider, seekSlider);
+        bar.setPadding(new Insets(8, 10, 8, 10));
+        bar.setStyle("-fx-background-color: " + TOOLBAR_COLOR + ";");
+        bar.setDisable(true);
+        return bar;
     }
 
     private void resetColors() {
+        if (canvasMode) {
+            canvasView.resetColors();
+            canvasView.setEndpoints(startNode, endNode);
+            return;
+        }
         nodeMap.values().forEach(n -> n.setColor(Color.LIGHTGRAY));
         edgeMap.values().forEach(e -> { e.setStroke(Color.BLACK); e.setStrokeWidth(2); });
         if (startNode != null && nodeMap.containsKey(startNode)) nodeMap.get(startNode).setColor(Color.GREEN);
@@ -432,56 +595,45 @@ public class GraphMain extends Application {
     }
 
     private void clearGraph() {
+        stopPlayback();
+        if (canvasMode) {
+            canvasGeneration++;
+            canvasVertices = new ArrayList<>();
+            canvasView.setGraph(canvasVertices);
+            startNode = null;
+            endNode = null;
+            statusLabel.setText("Grafo limpo.");
+            return;
+        }
         graphPane.getChildren().removeIf(node -> !(node instanceof Canvas));
         nodeMap.clear();
         edgeMap.clear();
+        editorGraph = new Graph();
         startNode = null;
         endNode = null;
         nodeCounter = 1;
         statusLabel.setText("Grafo limpo.");
     }
 
-    private void sleep(long millis) {
-        try { Thread.sleep(millis); } catch (Exception e) {}
-    }
-
     public static void main(String[] args) {
         launch(args);
     }
 
-    // Calcula a soma dos pesos do caminho final
-    private double calculatePathCost(java.util.List<Vertex> path) {
-        double cost = 0;
-        for (int i = 0; i < path.size() - 1; i++) {
-            Vertex u = path.get(i);
-            Vertex v = path.get(i+1);
-            for (Edge e : u.getEdges()) {
-                if (e.getTarget() == v) {
-                    cost += e.getWeight();
-                    break;
-                }
-            }
+    // Pinta exatamente as arestas usadas (com arestas paralelas, só a que o caminho percorre)
+    private void highlightPath(PathResult path) {
+        if (canvasMode) {
+            canvasView.highlightPath(path);
+            return;
         }
-        return cost;
-    }
-
-    private void highlightPath(java.util.List<Vertex> path) {
-        for (int i = 0; i < path.size() - 1; i++) {
-            Vertex u = path.get(i);
-            Vertex v = path.get(i+1);
-
-            nodeMap.get(u).setColor(Color.CYAN);
-            nodeMap.get(v).setColor(Color.CYAN);
-
-            for (Edge e : u.getEdges()) {
-                if (e.getTarget() == v) {
-                    EdgeFX fx = edgeMap.get(e);
-                    if (fx != null) {
-                        fx.setStroke(Color.CYAN);
-                        fx.setStrokeWidth(4);
-                        fx.setOpacity(1.0);
-                    }
-                }
+        for (Edge e : path.edges()) {
+            nodeMap.get(e.getSource()).setColor(Color.CYAN);
+            nodeMap.get(e.getTarget()).setColor(Color.CYAN);
+
+            EdgeFX fx = edgeMap.get(e);
+            if (fx != null) {
+                fx.setStroke(Color.CYAN);
+                fx.setStrokeWidth(4);
+                fx.setOpacity(1.0);
             }
         }
     }
@@ -569,6 +721,14 @@ public class GraphMain extends Application {
                     showErrorDialog("Poucos Vértices", "O grafo precisa de pelo menos 2 vértices para brincar.");
                     return;
                 }
+                if (canvasMode) {
+                    if (numNodes > 2_000_000) {
+                        showErrorDialog("Muitos Vértices", "O modo Canvas aceita até 2.000.000 vértices.");
+                        return;
+                    }
+                    generateCanvasGraph(numNodes);
+                    return;
+                }
                 if (numNodes > 100) {
                     showErrorDialog("Muitos Vértices", "Mais de 100 vértices pode deixar a tela ilegível.\nTente um número menor.");
                     return;
@@ -634,7 +794,54 @@ public class GraphMain extends Application {
         });
     }
 
+    // Grafo grande só para o modo Canvas: grade com ruído, cada nó ligado a 1-3 vizinhos próximos
+    private void generateCanvasGraph(int numNodes) {
+        clearGraph();
+        statusLabel.setText("⏳ Gerando grafo com " + numNodes + " vértices...");
+
+        // Milhões de vértices levam segundos: monta numa thread própria e só entrega o resultado
+        // à thread do JavaFX. Limpar, trocar de modo ou gerar de novo antes do fim descarta este.
+        int generation = ++canvasGeneration;
+        new Thread(() -> {
+            List<Vertex> vertices = buildCanvasGraph(numNodes);
+            Platform.runLater(() -> {
+                if (generation != canvasGeneration) return;
+                canvasVertices = vertices;
+                canvasView.setGraph(canvasVertices);
+                statusLabel.setText("✨ Grafo com " + numNodes + " vértices gerado no Canvas! Selecione Início e Fim.");
+            });
+        }).start();
+    }
+
+    private static List<Vertex> buildCanvasGraph(int numNodes) {
+        java.util.Random rand = new java.util.Random();
+        int columns = (int) Math.ceil(Math.sqrt(numNodes));
+        double spacing = 60;
+
+        Graph generated = new Graph();
+        List<Vertex> vertices = new ArrayList<>(numNodes);
+        for (int i = 0; i < numNodes; i++) {
+            double x = (i % columns) * spacing + rand.nextDouble() * spacing * 0.6;
+            double y = (i / columns) * spacing + rand.nextDouble() * spacing * 0.6;
+            vertices.add(generated.addVertex("No " + (i + 1), x, y));
+        }
+
+        for (int i = 0; i < numNodes; i++) {
+            Vertex u = vertices.get(i);
+            int connections = 1 + rand.nextInt(3);
+            for (int j = 0; j < connections; j++) {
+                int dx = rand.nextInt(5) - 2;
+                int dy = rand.nextInt(5) - 2;
+                int k = i + dy * columns + dx;
+                if (k == i || k < 0 || k >= numNodes || Math.abs((k % columns) - (i % columns)) > 2) continue;
+                u.addEdge(vertices.get(k), 1 + rand.nextInt(20));
+            }
+        }
+        return vertices;
+    }
+
     private void resetAlgorithm() {
+        stopPlayback();
         resetColors(); // Remove apenas a pintura (amarelo/verde/vermelho/azul)
         statusLabel.setText("Visualização resetada. O grafo foi mantido.");
     }
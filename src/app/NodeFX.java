@@ -43,6 +43,11 @@ public class NodeFX extends StackPane {
         setLayoutX(x);
         setLayoutY(y);
 
+        // Mantém a posição do Vertex sincronizada com o layout (usada pela heurística do A*)
+        vertex.setPosition(x, y);
+        layoutXProperty().addListener((o, old, v) -> vertex.setPosition(v.doubleValue(), getLayoutY()));
+        layoutYProperty().addListener((o, old, v) -> vertex.setPosition(getLayoutX(), v.doubleValue()));
+
         // --- TAMANHO REDUZIDO AQUI ---
         this.circle = new Circle(15); // Era 22
         updateColor(COLOR_NORMAL);
@@ -0,0 +1,114 @@
+package app;
+
+import algorithm.DijkstraListener;
+import algorithm.SearchTrace;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.function.IntConsumer;
+
+// Reproduz um SearchTrace no ritmo da tela.
+// A cada quadro calcula quantos eventos cabem no tempo que passou (velocidade em eventos/s)
+// e entrega todos de uma vez ao listener que pinta: nada de sleep nem um runLater por evento,
+// então a interface fica fluida em qualquer velocidade. Voltar (seek para trás) limpa a
+// pintura e reaplica tudo desde o início, o que é instantâneo comparado à animação.
+// Todos os métodos devem ser chamados na thread do JavaFX.
+public class TracePlayer extends AnimationTimer {
+
+    private final SearchTrace trace;
+    private final DijkstraListener renderer;
+    private final Runnable resetView;
+
+    private Runnable onFinished = () -> {};
+    private IntConsumer onProgress = position -> {};
+
+    private double speed = 8.0;     // eventos por segundo
+    private double position;        // fracionária: acumula quadros com menos de 1 evento
+    private int replayed;           // eventos já entregues ao renderer
+    private boolean paused;
+    private boolean finished;
+    private long lastFrame = -1;
+
+    public TracePlayer(SearchTrace trace, DijkstraListener renderer, Runnable resetView) {
+        this.trace = trace;
+        this.renderer = renderer;
+        this.resetView = resetView;
+    }
+
+    public void setOnFinished(Runnable onFinished) { this.onFinished = onFinished; }
+    public void setOnProgress(IntConsumer onProgress) { this.onProgress = onProgress; }
+
+    public int size() { return trace.size(); }
+    public int position() { return replayed; }
+    public boolean isPaused() { return paused; }
+    public double getSpeed() { return speed; }
+    public void setSpeed(double eventsPerSecond) { this.speed = Math.max(eventsPerSecond, 0.1); }
+
+    @Override
+    public void handle(long now) {
+        if (lastFrame < 0) {
+            lastFrame = now;
+            return;
+        }
+        double elapsed = (now - lastFrame) / 1e9;
+        lastFrame = now;
+        if (!paused) advanceTo(position + elapsed * speed);
+    }
+
+    public void play() {
+        if (finished) seek(0);
+        paused = false;
+        lastFrame = -1;
+        start();
+    }
+
+    public void pause() { paused = true; }
+
+    public void togglePause() {
+        if (paused || finished) play();
+        else pause();
+    }
+
+    // Avança exatamente um evento e fica pausado
+    public void step() {
+        paused = true;
+        advanceTo(replayed + 1);
+    }
+
+    public void fastForward() {
+        advanceTo(trace.size());
+    }
+
+    public void seek(int event) {
+        event = Math.max(0, Math.min(event, trace.size()));
+        if (event < replayed) {
+            resetView.run();
+            replayed = 0;
+        }
+        if (event < trace.size() && finished) {
+            finished = false;
+            lastFrame = -1;
+            start();
+        }
+        advanceTo(event);
+    }
+
+    private void advanceTo(double target) {
+        target = Math.min(target, trace.size());
+        int to = (int) target;
+        if (to > replayed) {
+            trace.replay(replayed, to, renderer);
+            replayed = to;
+        }
+        position = target;
+        onProgress.accept(replayed);
+
+        if (replayed == trace.size() && !finished) {
+            finished = true;
+            stop();
+            // Fora do pulso da animação: quem recebe pode abrir um diálogo com showAndWait,
+            // o que o JavaFX não permite durante o processamento de animação ou layout
+            Platform.runLater(onFinished);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package generator;
+
+import model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+// Monta o CSR direto a partir de um gerador, sem lista intermediária nem objetos por aresta.
+// O gerador é dividido em blocos com semente própria e roda duas vezes: a primeira passada só
+// conta o grau de cada origem, a segunda regera exatamente as mesmas arestas e escreve cada uma
+// na posição final. Sortear tudo duas vezes sai bem mais barato do que guardar dezenas de
+// milhões de arestas num buffer.
+final class CsrAssembler {
+
+    // Limite dos offsets int do CSR
+    static final long MAX_EDGES = Integer.MAX_VALUE - 8;
+
+    interface EdgeSink {
+        void edge(int source, int target, double weight);
+    }
+
+    interface ChunkGenerator {
+        // Deve emitir sempre as mesmas arestas, na mesma ordem, para o mesmo bloco
+        void generate(int chunk, EdgeSink sink);
+    }
+
+    private CsrAssembler() {}
+
+    // Blocos que só emitem arestas de origens suas (cada origem pertence a um único bloco):
+    // contagem e escrita sem sincronização, e a ordem das listas já sai determinística
+    static CsrGraph bySource(int n, int chunks, ChunkGenerator generator, ForkJoinPool pool) {
+        int[] offsets = new int[n + 1];
+        forEachChunk(chunks, generator, (s, t, w) -> offsets[s + 1]++, pool);
+        int m = prefixSum(offsets);
+
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        forEachChunk(chunks, generator, (s, t, w) -> {
+            int pos = cursor[s]++;
+            targets[pos] = t;
+            weights[pos] = w;
+        }, pool);
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    // Blocos que emitem arestas de qualquer origem (ex.: R-MAT): contadores atômicos e, no fim,
+    // cada lista é ordenada por (destino, peso) para o resultado não depender da ordem em que as
+    // threads escreveram
+    static CsrGraph unordered(int n, int chunks, ChunkGenerator generator, ForkJoinPool pool) {
+        AtomicIntegerArray counters = new AtomicIntegerArray(n);
+        forEachChunk(chunks, generator, (s, t, w) -> counters.incrementAndGet(s), pool);
+
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) offsets[u + 1] = counters.get(u);
+        int m = prefixSum(offsets);
+        for (int u = 0; u < n; u++) counters.set(u, offsets[u]);
+
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        forEachChunk(chunks, generator, (s, t, w) -> {
+            int pos = counters.getAndIncrement(s);
+            targets[pos] = t;
+            weights[pos] = w;
+        }, pool);
+
+        pool.submit(() -> IntStream.range(0, n).parallel()
+                .forEach(u -> sortSegment(targets, weights, offsets[u], offsets[u + 1]))).join();
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    private static void forEachChunk(int chunks, ChunkGenerator generator, EdgeSink sink, ForkJoinPool pool) {
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> generator.generate(c, sink))).join();
+    }
+
+    // offsets[u + 1] tem o grau de u; vira o início de cada lista. Retorna o total de arestas.
+    private static int prefixSum(int[] offsets) {
+        long total = 0;
+        for (int i = 1; i < offsets.length; i++) total += offsets[i];
+        if (total > MAX_EDGES) throw new IllegalArgumentException("Grafo grande demais para o CSR: " + total + " arestas");
+        Arrays.parallelPrefix(offsets, Integer::sum);
+        return (int) total;
+    }
+
+    private static void sortSegment(int[] targets, double[] weights, int from, int to) {
+        int size = to - from;
+        if (size < 2) return;
+        if (size <= 16) {
+            // Inserção: listas curtas são a grande maioria
+            for (int i = from + 1; i < to; i++) {
+                int t = targets[i];
+                double w = weights[i];
+                int j = i - 1;
+                while (j >= from && (targets[j] > t || (targets[j] == t && weights[j] > w))) {
+                    targets[j + 1] = targets[j];
+                    weights[j + 1] = weights[j];
+                    j--;
+                }
+                targets[j + 1] = t;
+                weights[j + 1] = w;
+            }
+            return;
+        }
+
+        // Ordena por destino (chave = destino << 32 | posição) e depois os pesos de cada destino
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) keys[i] = ((long) targets[from + i] << 32) | i;
+        Arrays.sort(keys);
+        double[] sorted = new double[size];
+        for (int i = 0; i < size; i++) {
+            targets[from + i] = (int) (keys[i] >>> 32);
+            sorted[i] = weights[from + (int) keys[i]];
+        }
+        for (int start = 0; start < size; ) {
+            int end = start + 1;
+            while (end < size && targets[from + end] == targets[from + start]) end++;
+            if (end - start > 1) Arrays.sort(sorted, start, end);
+            start = end;
+        }
+        System.arraycopy(sorted, 0, weights, from, size);
+    }
+}
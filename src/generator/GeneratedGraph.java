@@ -0,0 +1,18 @@
+package generator;
+
+import model.CsrGraph;
+import model.Vertex;
+
+import java.util.List;
+
+// Grafo sintético: o CSR e, nos modelos espaciais, a posição de cada vértice (xs/ys null nos demais)
+public record GeneratedGraph(CsrGraph graph, double[] xs, double[] ys) {
+
+    public boolean hasCoordinates() { return xs != null; }
+
+    // Materializa como Vertex/Edge para a interface ou para os solvers do grafo de objetos.
+    // Cria um objeto por aresta: use só em grafos que caibam nesse formato.
+    public List<Vertex> toVertices() {
+        return graph.toVertices(i -> "No " + i, xs, ys);
+    }
+}
@@ -0,0 +1,229 @@
+package generator;
+
+import model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Geradores de grafos sintéticos grandes, sem interface gráfica, para testes de carga e benchmarks.
+// Escrevem direto no CSR (veja CsrAssembler) e rodam em paralelo no pool informado. O trabalho é
+// dividido em blocos de tamanho fixo, cada um com a sua semente derivada da semente do gerador,
+// então a mesma semente produz exatamente o mesmo grafo com qualquer número de threads.
+public final class GraphGenerator {
+
+    // Mesma faixa de pesos do botão "Gerar Grafo" (inteiros, então os solvers usam a fila de baldes)
+    public static final int MAX_WEIGHT = 20;
+
+    private static final int VERTICES_PER_CHUNK = 1 << 14;
+    private static final int EDGES_PER_CHUNK = 1 << 16;
+
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    public GraphGenerator(long seed) {
+        this(seed, ForkJoinPool.commonPool());
+    }
+
+    public GraphGenerator(long seed, ForkJoinPool pool) {
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    // Erdős–Rényi dirigido G(n, p), com p = averageDegree / (n - 1). Os destinos de cada vértice
+    // são sorteados por saltos geométricos, então o custo é proporcional às arestas, não a n².
+    public GeneratedGraph erdosRenyi(int n, double averageDegree) {
+        checkVertices(n);
+        checkEdges((long) Math.ceil(n * averageDegree));
+        double p = n > 1 ? Math.min(1.0, averageDegree / (n - 1)) : 0.0;
+        double logQ = Math.log1p(-p);
+
+        CsrGraph graph = CsrAssembler.bySource(n, chunks(n, VERTICES_PER_CHUNK), (chunk, sink) -> {
+            SplittableRandom random = random(chunk);
+            int from = chunk * VERTICES_PER_CHUNK;
+            int to = (int) Math.min(n, (long) from + VERTICES_PER_CHUNK);
+            for (int u = from; u < to; u++) {
+                if (p <= 0) continue;
+                // v percorre os n - 1 candidatos (todos menos u), pulando direto para o próximo sorteado
+                for (long v = -1; ; ) {
+                    v += p >= 1 ? 1 : 1 + (long) Math.floor(Math.log(1 - random.nextDouble()) / logQ);
+                    if (v >= n - 1) break;
+                    int target = (int) (v < u ? v : v + 1);
+                    sink.edge(u, target, 1 + random.nextInt(MAX_WEIGHT));
+                }
+            }
+        }, pool);
+        return new GeneratedGraph(graph, null, null);
+    }
+
+    // Grade rows x columns com vizinhança de 4, nos dois sentidos. Vértice (r, c) fica em (c, r) e
+    // cada ligação pesa 1 + jitter * U[0, 1), igual nas duas direções; como o peso nunca é menor
+    // que a distância, as heurísticas euclidiana e Manhattan continuam admissíveis.
+    public GeneratedGraph grid(int rows, int columns, double jitter) {
+        if (rows <= 0 || columns <= 0) throw new IllegalArgumentException("Grade precisa de pelo menos 1 x 1");
+        if (jitter < 0) throw new IllegalArgumentException("Jitter negativo");
+        long total = (long) rows * columns;
+        checkVertices(total);
+        checkEdges(4 * total);
+        int n = (int) total;
+
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        pool.submit(() -> IntStream.range(0, n).parallel().forEach(u -> {
+            xs[u] = u % columns;
+            ys[u] = u / columns;
+        })).join();
+
+        CsrGraph graph = CsrAssembler.bySource(n, chunks(n, VERTICES_PER_CHUNK), (chunk, sink) -> {
+            int from = chunk * VERTICES_PER_CHUNK;
+            int to = (int) Math.min(n, (long) from + VERTICES_PER_CHUNK);
+            for (int u = from; u < to; u++) {
+                int r = u / columns;
+                int c = u % columns;
+                if (c > 0) sink.edge(u, u - 1, 1 + jitter * pairUniform(u - 1, u));
+                if (c + 1 < columns) sink.edge(u, u + 1, 1 + jitter * pairUniform(u, u + 1));
+                if (r > 0) sink.edge(u, u - columns, 1 + jitter * pairUniform(u - columns, u));
+                if (r + 1 < rows) sink.edge(u, u + columns, 1 + jitter * pairUniform(u, u + columns));
+            }
+        }, pool);
+        return new GeneratedGraph(graph, xs, ys);
+    }
+
+    // Grafo geométrico aleatório: n pontos uniformes no quadrado unitário, ligados (nos dois
+    // sentidos) quando a distância é no máximo r, com peso = distância. r é escolhido para o grau
+    // médio ficar perto de averageDegree (n * pi * r² = averageDegree, menos o efeito da borda).
+    public GeneratedGraph randomGeometric(int n, double averageDegree) {
+        checkVertices(n);
+        checkEdges((long) Math.ceil(n * averageDegree));
+        double radius = Math.sqrt(averageDegree / (Math.PI * Math.max(n, 1)));
+        double radiusSq = radius * radius;
+
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        pool.submit(() -> IntStream.range(0, n).parallel().forEach(i -> {
+            xs[i] = pairUniform(i, 0);
+            ys[i] = pairUniform(i, 1);
+        })).join();
+
+        // Células de lado >= r: os vizinhos de um ponto estão na célula dele ou nas 8 em volta
+        int side = (int) Math.max(1, Math.min(Math.floor(1 / Math.max(radius, 1e-9)), Math.ceil(Math.sqrt(n))));
+        int[] cellStart = new int[side * side + 1];
+        int[] cellOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = cell(xs[i], side) * side + cell(ys[i], side);
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int k = 0; k < side * side; k++) cellStart[k + 1] += cellStart[k];
+        int[] cellItems = new int[n];
+        int[] fill = Arrays.copyOf(cellStart, side * side);
+        for (int i = 0; i < n; i++) cellItems[fill[cellOf[i]]++] = i;
+
+        CsrGraph graph = CsrAssembler.bySource(n, chunks(n, VERTICES_PER_CHUNK), (chunk, sink) -> {
+            int from = chunk * VERTICES_PER_CHUNK;
+            int to = (int) Math.min(n, (long) from + VERTICES_PER_CHUNK);
+            for (int i = from; i < to; i++) {
+                int cx = cellOf[i] / side;
+                int cy = cellOf[i] % side;
+                for (int x = Math.max(0, cx - 1); x <= Math.min(side - 1, cx + 1); x++) {
+                    for (int y = Math.max(0, cy - 1); y <= Math.min(side - 1, cy + 1); y++) {
+                        int k = x * side + y;
+                        for (int p = cellStart[k]; p < cellStart[k + 1]; p++) {
+                            int j = cellItems[p];
+                            if (j == i) continue;
+                            double dx = xs[j] - xs[i];
+                            double dy = ys[j] - ys[i];
+                            double distSq = dx * dx + dy * dy;
+                            if (distSq <= radiusSq) sink.edge(i, j, Math.sqrt(distSq));
+                        }
+                    }
+                }
+            }
+        }, pool);
+        return new GeneratedGraph(graph, xs, ys);
+    }
+
+    // R-MAT (Kronecker) com os parâmetros do Graph500: a = 0.57, b = c = 0.19
+    public GeneratedGraph rmat(int scale, long edgeCount) {
+        return rmat(scale, edgeCount, 0.57, 0.19, 0.19);
+    }
+
+    // R-MAT com 2^scale vértices: cada aresta desce 'scale' níveis da matriz de adjacência,
+    // escolhendo o quadrante com probabilidades a, b, c e d = 1 - a - b - c. Gera grafos com graus
+    // em lei de potência e comunidades. Laços (u -> u) são descartados; arestas repetidas ficam.
+    public GeneratedGraph rmat(int scale, long edgeCount, double a, double b, double c) {
+        if (scale < 1 || scale > 30) throw new IllegalArgumentException("scale deve estar entre 1 e 30");
+        if (a < 0 || b < 0 || c < 0 || a + b + c > 1) throw new IllegalArgumentException("Probabilidades inválidas");
+        checkEdges(edgeCount);
+        int n = 1 << scale;
+        // Cada nível usa 16 bits aleatórios (4 níveis por nextLong) comparados com limiares inteiros
+        int ta = (int) (a * 65536);
+        int tab = (int) ((a + b) * 65536);
+        int tabc = (int) ((a + b + c) * 65536);
+        int chunks = (int) ((edgeCount + EDGES_PER_CHUNK - 1) / EDGES_PER_CHUNK);
+
+        CsrGraph graph = CsrAssembler.unordered(n, chunks, (chunk, sink) -> {
+            SplittableRandom random = random(chunk);
+            long count = Math.min(EDGES_PER_CHUNK, edgeCount - (long) chunk * EDGES_PER_CHUNK);
+            for (long e = 0; e < count; e++) {
+                int u = 0;
+                int v = 0;
+                long bits = 0;
+                int available = 0;
+                for (int bit = scale - 1; bit >= 0; bit--) {
+                    if (available == 0) {
+                        bits = random.nextLong();
+                        available = 4;
+                    }
+                    int r = (int) (bits & 0xFFFF);
+                    bits >>>= 16;
+                    available--;
+                    // Quadrante sem desvios: linha = r >= a+b; coluna = (r >= a) ^ linha ^ (r >= a+b+c)
+                    int row = r >= tab ? 1 : 0;
+                    int column = (r >= ta ? 1 : 0) ^ row ^ (r >= tabc ? 1 : 0);
+                    u |= row << bit;
+                    v |= column << bit;
+                }
+                int weight = 1 + random.nextInt(MAX_WEIGHT);
+                if (u != v) sink.edge(u, v, weight);
+            }
+        }, pool);
+        return new GeneratedGraph(graph, null, null);
+    }
+
+    // --- Sementes ---
+
+    private SplittableRandom random(int chunk) {
+        return new SplittableRandom(mix(seed + (chunk + 1) * 0x9E3779B97F4A7C15L));
+    }
+
+    // Número em [0, 1) que depende só da semente e do par (i, j): os dois lados de uma ligação
+    // sem direção calculam o mesmo valor sem precisar combinar nada
+    private double pairUniform(long i, long j) {
+        long h = mix(seed ^ mix(i * 0x9E3779B97F4A7C15L + j));
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    // Finalizador do SplitMix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int cell(double coordinate, int side) {
+        return Math.min(side - 1, (int) (coordinate * side));
+    }
+
+    private static int chunks(int items, int perChunk) {
+        return (int) (((long) items + perChunk - 1) / perChunk);
+    }
+
+    private static void checkVertices(long n) {
+        if (n < 0 || n >= Integer.MAX_VALUE) throw new IllegalArgumentException("Número de vértices inválido: " + n);
+    }
+
+    private static void checkEdges(long m) {
+        if (m < 0 || m > CsrAssembler.MAX_EDGES) throw new IllegalArgumentException("Número de arestas inválido: " + m);
+    }
+}
@@ -0,0 +1,127 @@
+package io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+// Leitura de arquivos de texto em blocos, em paralelo. O arquivo é dividido em faixas de
+// CHUNK_BYTES; cada tarefa lê a sua faixa com leituras posicionais no FileChannel (seguras entre
+// threads), estende até o fim da última linha e entrega as linhas que COMEÇAM dentro da faixa ao
+// handler, junto com um estado próprio. Os estados voltam na ordem do arquivo, então juntar os
+// resultados bloco a bloco preserva a ordem das linhas.
+final class ChunkedFile {
+
+    static final int CHUNK_BYTES = 8 << 20;
+    private static final int EXTEND_BYTES = 64 << 10;
+
+    interface LineHandler<S> {
+        void line(Line line, S state);
+    }
+
+    private ChunkedFile() {}
+
+    static <S> List<S> parse(Path path, ForkJoinPool pool, Supplier<S> newState, LineHandler<S> handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunks = Math.max(1, (size + CHUNK_BYTES - 1) / CHUNK_BYTES);
+
+            List<Future<S>> tasks = new ArrayList<>((int) chunks);
+            for (long c = 0; c < chunks; c++) {
+                long begin = c * CHUNK_BYTES;
+                long end = Math.min(size, begin + CHUNK_BYTES);
+                tasks.add(pool.submit(() -> parseChunk(channel, size, begin, end, newState.get(), handler)));
+            }
+
+            List<S> states = new ArrayList<>(tasks.size());
+            try {
+                for (Future<S> task : tasks) states.add(await(task, path));
+            } finally {
+                for (Future<S> task : tasks) task.cancel(false);
+            }
+            return states;
+        }
+    }
+
+    private static <S> S parseChunk(FileChannel channel, long size, long begin, long end, S state,
+                                    LineHandler<S> handler) throws IOException {
+        // Lê a partir do byte anterior à faixa, para saber se a primeira linha começa nela
+        long from = begin == 0 ? 0 : begin - 1;
+        int limit = (int) (end - from);
+        byte[] buffer = new byte[limit + EXTEND_BYTES];
+        int length = read(channel, buffer, 0, from, limit);
+
+        // Estende até o '\n' que fecha a última linha da faixa (ou até o fim do arquivo)
+        int scan = Math.max(0, limit - 1);
+        while (indexOf(buffer, scan, length) < 0 && from + length < size) {
+            scan = length;
+            if (buffer.length - length < EXTEND_BYTES) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            int got = read(channel, buffer, length, from + length, EXTEND_BYTES);
+            if (got == 0) break;
+            length += got;
+        }
+
+        int lineStart = 0;
+        if (begin > 0) {
+            int newline = indexOf(buffer, 0, Math.min(length, limit));
+            if (newline < 0) return state;      // nenhuma linha começa nesta faixa
+            lineStart = newline + 1;
+        }
+
+        Line line = new Line();
+        while (lineStart < limit && lineStart < length) {
+            int lineEnd = indexOf(buffer, lineStart, length);
+            if (lineEnd < 0) lineEnd = length;
+            line.reset(buffer, lineStart, lineEnd, from + lineStart);
+            handler.line(line, state);
+            lineStart = lineEnd + 1;
+        }
+        return state;
+    }
+
+    private static int read(FileChannel channel, byte[] buffer, int offset, long position, int wanted) throws IOException {
+        ByteBuffer target = ByteBuffer.wrap(buffer, offset, wanted);
+        int total = 0;
+        while (target.hasRemaining()) {
+            int got = channel.read(target, position + total);
+            if (got < 0) break;
+            total += got;
+        }
+        return total;
+    }
+
+    private static int indexOf(byte[] buffer, int from, int to) {
+        for (int i = from; i < to; i++) if (buffer[i] == '\n') return i;
+        return -1;
+    }
+
+    // Espera uma tarefa, devolvendo erros de formato como IOException com o nome do arquivo
+    static <S> S await(Future<S> task, Path path) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Leitura interrompida: " + path);
+        } catch (ExecutionException failed) {
+            Throwable cause = failed.getCause();
+            // O ForkJoinPool relança uma cópia da exceção com a original como causa
+            while (cause.getCause() != null && cause.getCause().getClass() == cause.getClass()) cause = cause.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof IllegalArgumentException malformed) {
+                throw new IOException(path + ": " + malformed.getMessage(), malformed);
+            }
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw new IOException(cause);
+        }
+    }
+}
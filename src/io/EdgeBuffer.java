@@ -0,0 +1,63 @@
+package io;
+
+import model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Arestas de um bloco do arquivo em arrays de primitivos que crescem sozinhos.
+// toCsr junta os blocos em ordem: conta os graus, acumula e espalha, O(n + m).
+final class EdgeBuffer {
+
+    private int[] sources = new int[1024];
+    private int[] targets = new int[1024];
+    private double[] weights = new double[1024];
+    private int size;
+
+    // Menor e maior id visto, para o importador validar contra o número de vértices
+    int minId = Integer.MAX_VALUE;
+    int maxId = -1;
+
+    void add(int source, int target, double weight) {
+        if (size == sources.length) {
+            int capacity = size * 2;
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        sources[size] = source;
+        targets[size] = target;
+        weights[size] = weight;
+        size++;
+        int low = Math.min(source, target), high = Math.max(source, target);
+        if (low < minId) minId = low;
+        if (high > maxId) maxId = high;
+    }
+
+    int size() { return size; }
+
+    // Arestas de cada origem ficam na ordem em que apareceram no arquivo
+    static CsrGraph toCsr(int n, List<EdgeBuffer> parts) {
+        long total = 0;
+        for (EdgeBuffer part : parts) total += part.size;
+        if (total > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Arestas demais para o CSR: " + total);
+
+        int[] offsets = new int[n + 1];
+        for (EdgeBuffer part : parts) {
+            for (int i = 0; i < part.size; i++) offsets[part.sources[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+
+        int[] cursor = Arrays.copyOf(offsets, n);
+        int[] targets = new int[(int) total];
+        double[] weights = new double[(int) total];
+        for (EdgeBuffer part : parts) {
+            for (int i = 0; i < part.size; i++) {
+                int pos = cursor[part.sources[i]]++;
+                targets[pos] = part.targets[i];
+                weights[pos] = part.weights[i];
+            }
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+}
@@ -0,0 +1,199 @@
+package io;
+
+import model.CsrGraph;
+import model.IndexedGraph;
+import model.Vertex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Formato binário do grafo (.dgr), little-endian, pensado para ser mapeado em memória e usado
+// sem cópia (MappedGraph). Cabeçalho de 64 bytes:
+//   0  magic "DGRF"          4  versão (int)          8  flags (int)        12 vértices n (int)
+//   16 arestas m (long)      24 maior peso (double)   32 bytes dos nomes (long)   40..63 zeros
+// Depois, cada seção começando num múltiplo de 8:
+//   offsets int[n + 1] | targets int[m] | pesos int[m] (FLAG_INT_WEIGHTS) ou double[m]
+//   | xs double[n], ys double[n] (FLAG_COORDINATES) | início dos nomes int[n + 1] + UTF-8 (FLAG_NAMES)
+public final class GraphFile {
+
+    static final int MAGIC = 'D' | 'G' << 8 | 'R' << 16 | 'F' << 24;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+
+    static final int FLAG_INT_WEIGHTS = 1;
+    static final int FLAG_COORDINATES = 2;
+    static final int FLAG_NAMES = 4;
+    static final int FLAG_INTEGRAL = 8;     // todos os pesos são inteiros não negativos (mesmo guardados como double)
+
+    private GraphFile() {}
+
+    // Abre o arquivo mapeado em memória (ver MappedGraph.open)
+    public static MappedGraph map(Path path) throws IOException {
+        return MappedGraph.open(path);
+    }
+
+    // Grava o retrato; nomes e coordenadas vêm dos vértices originais, se o retrato os conhece
+    public static void write(Path path, CsrGraph graph) throws IOException {
+        if (!graph.hasObjects()) {
+            write(path, graph, null, null, null);
+            return;
+        }
+        int n = graph.vertexCount();
+        String[] names = new String[n];
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        boolean positioned = false;
+        for (int v = 0; v < n; v++) {
+            Vertex vertex = graph.vertex(v);
+            names[v] = vertex.getName();
+            xs[v] = vertex.getX();
+            ys[v] = vertex.getY();
+            positioned |= vertex.hasPosition();
+        }
+        write(path, graph, positioned ? xs : null, positioned ? ys : null, names);
+    }
+
+    // xs/ys e names são opcionais (null); quando presentes, um valor por vértice
+    public static void write(Path path, IndexedGraph graph, double[] xs, double[] ys, String[] names) throws IOException {
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+        if ((xs == null) != (ys == null)) throw new IllegalArgumentException("xs e ys devem vir juntos");
+        if (xs != null && (xs.length != n || ys.length != n)) throw new IllegalArgumentException("Uma coordenada por vértice");
+        if (names != null && names.length != n) throw new IllegalArgumentException("Um nome por vértice");
+
+        // Pesos inteiros que cabem em int ocupam metade do espaço
+        boolean intWeights = graph.hasIntegralWeights() && graph.maxWeight() <= Integer.MAX_VALUE;
+
+        byte[][] encoded = null;
+        long nameBytes = 0;
+        if (names != null) {
+            encoded = new byte[n][];
+            for (int v = 0; v < n; v++) {
+                encoded[v] = names[v] == null ? new byte[0] : names[v].getBytes(StandardCharsets.UTF_8);
+                nameBytes += encoded[v].length;
+            }
+            if (nameBytes > Integer.MAX_VALUE) throw new IllegalArgumentException("Nomes somam mais de 2 GB");
+        }
+
+        int flags = (intWeights ? FLAG_INT_WEIGHTS : 0) | (graph.hasIntegralWeights() ? FLAG_INTEGRAL : 0)
+                | (xs != null ? FLAG_COORDINATES : 0) | (names != null ? FLAG_NAMES : 0);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             Output out = new Output(channel)) {
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(flags);
+            out.putInt(n);
+            out.putLong(m);
+            out.putDouble(graph.maxWeight());
+            out.putLong(nameBytes);
+            out.align(HEADER_BYTES);
+
+            for (int v = 0; v < n; v++) out.putInt(graph.firstEdge(v));
+            out.putInt(m);
+            out.align(8);
+
+            for (int e = 0; e < m; e++) out.putInt(graph.target(e));
+            out.align(8);
+
+            if (intWeights) for (int e = 0; e < m; e++) out.putInt((int) graph.weight(e));
+            else for (int e = 0; e < m; e++) out.putDouble(graph.weight(e));
+            out.align(8);
+
+            if (xs != null) {
+                for (double x : xs) out.putDouble(x);
+                for (double y : ys) out.putDouble(y);
+            }
+
+            if (encoded != null) {
+                int start = 0;
+                for (byte[] name : encoded) {
+                    out.putInt(start);
+                    start += name.length;
+                }
+                out.putInt(start);
+                for (byte[] name : encoded) out.putBytes(name);
+            }
+        }
+    }
+
+    // Posições das seções, calculadas só a partir do cabeçalho (escritor e leitor concordam)
+    static long offsetsPosition() { return HEADER_BYTES; }
+    static long targetsPosition(int n) { return align(offsetsPosition() + (n + 1L) * Integer.BYTES); }
+    static long weightsPosition(int n, long m) { return align(targetsPosition(n) + m * Integer.BYTES); }
+    static long coordinatesPosition(int n, long m, int flags) {
+        int weightBytes = (flags & FLAG_INT_WEIGHTS) != 0 ? Integer.BYTES : Double.BYTES;
+        return align(weightsPosition(n, m) + m * weightBytes);
+    }
+    static long namesPosition(int n, long m, int flags) {
+        long coordinates = (flags & FLAG_COORDINATES) != 0 ? 2L * n * Double.BYTES : 0;
+        return coordinatesPosition(n, m, flags) + coordinates;
+    }
+    static long fileSize(int n, long m, int flags, long nameBytes) {
+        long names = (flags & FLAG_NAMES) != 0 ? (n + 1L) * Integer.BYTES + nameBytes : 0;
+        return namesPosition(n, m, flags) + names;
+    }
+
+    private static long align(long position) { return (position + 7) & ~7L; }
+
+    // Escrita sequencial por um buffer direto de 1 MB
+    private static final class Output implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        Output(FileChannel channel) { this.channel = channel; }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) flush();
+            buffer.putInt(value);
+            position += Integer.BYTES;
+        }
+
+        void putLong(long value) throws IOException {
+            if (buffer.remaining() < Long.BYTES) flush();
+            buffer.putLong(value);
+            position += Long.BYTES;
+        }
+
+        void putDouble(double value) throws IOException {
+            if (buffer.remaining() < Double.BYTES) flush();
+            buffer.putDouble(value);
+            position += Double.BYTES;
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            for (int done = 0; done < bytes.length; ) {
+                if (!buffer.hasRemaining()) flush();
+                int chunk = Math.min(buffer.remaining(), bytes.length - done);
+                buffer.put(bytes, done, chunk);
+                done += chunk;
+            }
+            position += bytes.length;
+        }
+
+        // Preenche com zeros até um múltiplo de 'to' (só usado com to = 8 ou o tamanho do cabeçalho)
+        void align(int to) throws IOException {
+            while (position % to != 0) {
+                if (!buffer.hasRemaining()) flush();
+                buffer.put((byte) 0);
+                position++;
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException { flush(); }
+    }
+}
@@ -0,0 +1,277 @@
+package io;
+
+import model.CsrGraph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Importadores de arquivos de grafos reais. Leem o arquivo uma única vez, em blocos e em paralelo
+// (ChunkedFile), interpretando os números direto nos bytes, sem uma String por linha; cada bloco
+// guarda as arestas em arrays de primitivos e no fim tudo vira um CsrGraph (ImportedGraph.graph).
+// Para a interface ou os solvers do grafo de objetos, use ImportedGraph.toVertices().
+//
+// Formatos:
+//  - DIMACS (9th Challenge): .gr com "p sp n m" e "a u v peso"; .co com "v id x y". Ids de 1 a n.
+//  - Lista de arestas CSV/TSV: "origem destino [peso]" separados por vírgula, ponto e vírgula,
+//    tab ou espaço; peso 1 se omitido. Ids inteiros >= 0 (n = maior id + 1). Linhas começando
+//    com '#' ou '%' e cabeçalhos (linha que não começa com número) são ignorados.
+//  - OSM simplificado, extraído de um .osm/.pbf por qualquer ferramenta:
+//      n <id> <lat> <lon>
+//      w <id> <sentido> <nó1> <nó2> ...     sentido: 0 = mão dupla, 1 = só na ordem dos nós, -1 = contra
+//    Cada par de nós consecutivos de uma via vira aresta com a distância em metros (haversine).
+//    xs/ys = longitude/latitude. Trechos que citam nós ausentes (vias cortadas na borda do
+//    recorte) são descartados.
+// Pesos (e latitudes/longitudes do OSM) precisam ser finitos e, os pesos, não negativos: como
+// uma linha malformada, o contrário é recusado com a posição no arquivo.
+public final class GraphImporter {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private final ForkJoinPool pool;
+
+    public GraphImporter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public GraphImporter(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // --- DIMACS ---
+
+    public ImportedGraph readDimacs(Path gr) throws IOException {
+        return readDimacs(gr, null);
+    }
+
+    // 'co' pode ser null; vértices sem linha "v" ficam com coordenada NaN
+    public ImportedGraph readDimacs(Path gr, Path co) throws IOException {
+        List<DimacsChunk> chunks = ChunkedFile.parse(gr, pool, DimacsChunk::new, (line, chunk) -> {
+            switch (line.peek()) {
+                case 'a' -> {
+                    line.skipField();
+                    int u = line.nextInt() - 1;
+                    int v = line.nextInt() - 1;
+                    chunk.edges.add(u, v, line.nextWeight());
+                }
+                case 'p' -> {
+                    line.skipField();
+                    line.skipField();
+                    chunk.declared = line.nextInt();
+                }
+                default -> { }      // 'c' (comentário) e linhas vazias
+            }
+        });
+
+        int n = -1;
+        List<EdgeBuffer> edges = new ArrayList<>(chunks.size());
+        for (DimacsChunk chunk : chunks) {
+            if (chunk.declared >= 0) n = chunk.declared;
+            edges.add(chunk.edges);
+        }
+        if (n < 0) throw new IOException(gr + ": falta a linha \"p sp n m\"");
+        checkIds(gr, edges, n, 1);
+        CsrGraph graph = EdgeBuffer.toCsr(n, edges);
+
+        double[] xs = null, ys = null;
+        if (co != null) {
+            xs = new double[n];
+            ys = new double[n];
+            Arrays.fill(xs, Double.NaN);
+            Arrays.fill(ys, Double.NaN);
+            List<CoordinateChunk> coordinates = ChunkedFile.parse(co, pool, CoordinateChunk::new, (line, chunk) -> {
+                if (line.peek() != 'v') return;
+                line.skipField();
+                chunk.add(line.nextInt() - 1, line.nextDouble(), line.nextDouble());
+            });
+            for (CoordinateChunk chunk : coordinates) {
+                for (int i = 0; i < chunk.size; i++) {
+                    int v = chunk.ids[i];
+                    if (v < 0 || v >= n) throw new IOException(co + ": vértice " + (v + 1) + " fora de 1.." + n);
+                    xs[v] = chunk.xs[i];
+                    ys[v] = chunk.ys[i];
+                }
+            }
+        }
+        return new ImportedGraph(graph, xs, ys, null, 1);
+    }
+
+    // --- Lista de arestas ---
+
+    public ImportedGraph readEdgeList(Path file) throws IOException {
+        List<EdgeBuffer> edges = ChunkedFile.parse(file, pool, EdgeBuffer::new, (line, chunk) -> {
+            int first = line.peek();
+            if (first < '0' || first > '9') {
+                if (first != '-' && first != '+') return;   // vazia, comentário ou cabeçalho
+            }
+            int u = line.nextInt();
+            int v = line.nextInt();
+            chunk.add(u, v, line.hasNext() ? line.nextWeight() : 1.0);
+        });
+
+        int maxId = -1;
+        for (EdgeBuffer chunk : edges) maxId = Math.max(maxId, chunk.maxId);
+        if (maxId == Integer.MAX_VALUE) throw new IOException(file + ": id " + maxId + " grande demais");
+        int n = maxId + 1;
+        checkIds(file, edges, n, 0);
+        return new ImportedGraph(EdgeBuffer.toCsr(n, edges), null, null, null, 0);
+    }
+
+    // --- OSM simplificado ---
+
+    public ImportedGraph readOsm(Path file) throws IOException {
+        List<OsmChunk> chunks = ChunkedFile.parse(file, pool, OsmChunk::new, (line, chunk) -> {
+            switch (line.peek()) {
+                case 'n' -> {
+                    line.skipField();
+                    chunk.addNode(line.nextLong(), line.nextFiniteDouble(), line.nextFiniteDouble());
+                }
+                case 'w' -> {
+                    line.skipField();
+                    line.nextLong();
+                    int direction = line.nextInt();
+                    if (direction < -1 || direction > 1) throw line.error("sentido da via deve ser -1, 0 ou 1");
+                    while (line.hasNext()) chunk.addRef(line.nextLong());
+                    chunk.endWay(direction);
+                }
+                default -> { }
+            }
+        });
+
+        long total = 0;
+        for (OsmChunk chunk : chunks) total += chunk.nodes;
+        if (total > 1 << 29) throw new IOException(file + ": nós demais (" + total + ")");
+        int n = (int) total;
+
+        // Índices na ordem em que os nós aparecem no arquivo
+        long[] ids = new long[n];
+        double[] lons = new double[n];
+        double[] lats = new double[n];
+        LongIndex index = new LongIndex(n);
+        int next = 0;
+        for (OsmChunk chunk : chunks) {
+            for (int i = 0; i < chunk.nodes; i++, next++) {
+                ids[next] = chunk.nodeIds[i];
+                lats[next] = chunk.lats[i];
+                lons[next] = chunk.lons[i];
+                if (!index.put(ids[next], next)) throw new IOException(file + ": nó " + ids[next] + " repetido");
+            }
+        }
+
+        // Vias viram arestas em paralelo, um bloco por tarefa (o índice já é só leitura)
+        List<Future<EdgeBuffer>> tasks = new ArrayList<>(chunks.size());
+        for (OsmChunk chunk : chunks) tasks.add(pool.submit(() -> chunk.toEdges(index, lats, lons)));
+        List<EdgeBuffer> edges = new ArrayList<>(tasks.size());
+        for (Future<EdgeBuffer> task : tasks) edges.add(ChunkedFile.await(task, file));
+
+        return new ImportedGraph(EdgeBuffer.toCsr(n, edges), lons, lats, ids, 0);
+    }
+
+    private static void checkIds(Path file, List<EdgeBuffer> edges, int n, int firstId) throws IOException {
+        for (EdgeBuffer chunk : edges) {
+            if (chunk.size() > 0 && (chunk.minId < 0 || chunk.maxId >= n)) {
+                int bad = chunk.minId < 0 ? chunk.minId : chunk.maxId;
+                throw new IOException(file + ": vértice " + (bad + firstId) + " fora de "
+                        + firstId + ".." + (n - 1 + firstId));
+            }
+        }
+    }
+
+    static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // --- Estado de cada bloco ---
+
+    private static final class DimacsChunk {
+        final EdgeBuffer edges = new EdgeBuffer();
+        int declared = -1;
+    }
+
+    private static final class CoordinateChunk {
+        int[] ids = new int[256];
+        double[] xs = new double[256];
+        double[] ys = new double[256];
+        int size;
+
+        void add(int id, double x, double y) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                xs = Arrays.copyOf(xs, size * 2);
+                ys = Arrays.copyOf(ys, size * 2);
+            }
+            ids[size] = id;
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+        }
+    }
+
+    private static final class OsmChunk {
+        long[] nodeIds = new long[256];
+        double[] lats = new double[256];
+        double[] lons = new double[256];
+        int nodes;
+
+        // Vias: os nós de todas em sequência; wayEnds marca onde cada uma termina
+        long[] refs = new long[256];
+        int refCount;
+        int[] wayEnds = new int[64];
+        byte[] directions = new byte[64];
+        int ways;
+
+        void addNode(long id, double lat, double lon) {
+            if (nodes == nodeIds.length) {
+                nodeIds = Arrays.copyOf(nodeIds, nodes * 2);
+                lats = Arrays.copyOf(lats, nodes * 2);
+                lons = Arrays.copyOf(lons, nodes * 2);
+            }
+            nodeIds[nodes] = id;
+            lats[nodes] = lat;
+            lons[nodes] = lon;
+            nodes++;
+        }
+
+        void addRef(long node) {
+            if (refCount == refs.length) refs = Arrays.copyOf(refs, refCount * 2);
+            refs[refCount++] = node;
+        }
+
+        void endWay(int direction) {
+            if (ways == wayEnds.length) {
+                wayEnds = Arrays.copyOf(wayEnds, ways * 2);
+                directions = Arrays.copyOf(directions, ways * 2);
+            }
+            wayEnds[ways] = refCount;
+            directions[ways] = (byte) direction;
+            ways++;
+        }
+
+        EdgeBuffer toEdges(LongIndex index, double[] lats, double[] lons) {
+            EdgeBuffer edges = new EdgeBuffer();
+            int start = 0;
+            for (int w = 0; w < ways; w++) {
+                int end = wayEnds[w];
+                int direction = directions[w];
+                for (int i = start; i + 1 < end; i++) {
+                    int a = index.get(refs[i]);
+                    int b = index.get(refs[i + 1]);
+                    if (a < 0 || b < 0 || a == b) continue;
+                    double meters = haversine(lats[a], lons[a], lats[b], lons[b]);
+                    if (direction >= 0) edges.add(a, b, meters);
+                    if (direction <= 0) edges.add(b, a, meters);
+                }
+                start = end;
+            }
+            return edges;
+        }
+    }
+}
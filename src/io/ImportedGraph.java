@@ -0,0 +1,38 @@
+package io;
+
+import model.CsrGraph;
+import model.Vertex;
+
+import java.util.List;
+
+// Grafo lido pelo GraphImporter: o CSR, as coordenadas (xs/ys null se o arquivo não tem) e o id
+// de cada vértice no arquivo de origem (DIMACS começa em 1, listas de arestas usam o próprio id,
+// OSM usa os ids de 64 bits dos nós).
+public final class ImportedGraph {
+
+    private final CsrGraph graph;
+    private final double[] xs, ys;
+    private final long[] ids;       // null = id é firstId + índice
+    private final long firstId;
+
+    ImportedGraph(CsrGraph graph, double[] xs, double[] ys, long[] ids, long firstId) {
+        this.graph = graph;
+        this.xs = xs;
+        this.ys = ys;
+        this.ids = ids;
+        this.firstId = firstId;
+    }
+
+    public CsrGraph graph() { return graph; }
+    public double[] xs() { return xs; }
+    public double[] ys() { return ys; }
+    public boolean hasCoordinates() { return xs != null; }
+
+    public long originalId(int v) { return ids != null ? ids[v] : firstId + v; }
+
+    // Materializa como Vertex/Edge (nome = id original) para a interface ou para os solvers do
+    // grafo de objetos. Cria um objeto por aresta: use só em grafos que caibam nesse formato.
+    public List<Vertex> toVertices() {
+        return graph.toVertices(i -> Long.toString(originalId(i)), xs, ys);
+    }
+}
@@ -0,0 +1,175 @@
+package io;
+
+import java.nio.charset.StandardCharsets;
+
+// Uma linha dentro do bloco lido pelo ChunkedFile, percorrida campo a campo direto nos bytes,
+// sem criar String. Separadores: espaço, tab, vírgula, ponto e vírgula (e o '\r' do fim de linha).
+// Erros de formato saem como IllegalArgumentException com o trecho e a posição no arquivo.
+final class Line {
+
+    // Potências de 10 representadas exatamente em double (até 10^22)
+    private static final double[] POWERS_OF_TEN = new double[23];
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+
+    private byte[] bytes;
+    private int start, pos, end;
+    private long fileOffset;
+
+    void reset(byte[] bytes, int start, int end, long fileOffset) {
+        this.bytes = bytes;
+        this.start = start;
+        this.pos = start;
+        this.end = end;
+        this.fileOffset = fileOffset;
+    }
+
+    // Primeiro caractere do próximo campo, sem consumi-lo (-1 se a linha acabou)
+    int peek() {
+        skipSeparators();
+        return pos < end ? bytes[pos] : -1;
+    }
+
+    boolean hasNext() { return peek() >= 0; }
+
+    void skipField() {
+        skipSeparators();
+        while (pos < end && !isSeparator(bytes[pos])) pos++;
+    }
+
+    int nextInt() {
+        long value = nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) throw error("inteiro fora da faixa");
+        return (int) value;
+    }
+
+    long nextLong() {
+        skipSeparators();
+        int begin = pos;
+        boolean negative = pos < end && bytes[pos] == '-';
+        if (negative || (pos < end && bytes[pos] == '+')) pos++;
+
+        long value = 0;
+        int digits = 0;
+        while (pos < end && isDigit(bytes[pos])) {
+            value = value * 10 + (bytes[pos++] - '0');
+            digits++;
+        }
+        if (digits == 0 || (pos < end && !isSeparator(bytes[pos]))) throw error("inteiro esperado");
+        // Mais de 18 dígitos pode ter estourado: confere do jeito lento
+        if (digits > 18) {
+            try {
+                return Long.parseLong(text(begin, pos));
+            } catch (NumberFormatException tooLong) {
+                throw error("inteiro fora da faixa");
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    // Caminho rápido de Clinger: até 15 dígitos significativos e expoente decimal até 22 dão o
+    // double exato com uma única multiplicação/divisão. O resto (raro) cai no Double.parseDouble.
+    double nextDouble() {
+        skipSeparators();
+        int begin = pos;
+        boolean negative = pos < end && bytes[pos] == '-';
+        if (negative || (pos < end && bytes[pos] == '+')) pos++;
+
+        long mantissa = 0;
+        int significant = 0, scale = 0;
+        boolean digits = false;
+        while (pos < end && isDigit(bytes[pos])) {
+            digits = true;
+            if (significant < 18) {
+                mantissa = mantissa * 10 + (bytes[pos] - '0');
+                if (mantissa != 0) significant++;
+            } else {
+                significant++;
+                scale++;
+            }
+            pos++;
+        }
+        if (pos < end && bytes[pos] == '.') {
+            pos++;
+            while (pos < end && isDigit(bytes[pos])) {
+                digits = true;
+                if (significant < 18) {
+                    mantissa = mantissa * 10 + (bytes[pos] - '0');
+                    if (mantissa != 0) significant++;
+                    scale--;
+                } else {
+                    significant++;
+                }
+                pos++;
+            }
+        }
+        if (digits && pos < end && (bytes[pos] == 'e' || bytes[pos] == 'E')) {
+            pos++;
+            boolean negativeExponent = pos < end && bytes[pos] == '-';
+            if (negativeExponent || (pos < end && bytes[pos] == '+')) pos++;
+            int exponent = 0;
+            boolean exponentDigits = false;
+            while (pos < end && isDigit(bytes[pos])) {
+                if (exponent < 100_000) exponent = exponent * 10 + (bytes[pos] - '0');
+                exponentDigits = true;
+                pos++;
+            }
+            if (!exponentDigits) throw error("número esperado");
+            scale += negativeExponent ? -exponent : exponent;
+        }
+
+        if (!digits || (pos < end && !isSeparator(bytes[pos]))) {
+            // "NaN", "Infinity" e afins
+            while (pos < end && !isSeparator(bytes[pos])) pos++;
+            return parseSlow(begin);
+        }
+        if (significant > 15 || scale < -22 || scale > 22) return parseSlow(begin);
+
+        double value = mantissa;
+        value = scale < 0 ? value / POWERS_OF_TEN[-scale] : value * POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    // Peso de aresta: NaN, infinito ou negativo fariam todos os solvers errarem em silêncio
+    double nextWeight() {
+        double weight = nextDouble();
+        if (!(weight >= 0) || weight == Double.POSITIVE_INFINITY) throw error("peso deve ser finito e não negativo");
+        return weight;
+    }
+
+    // Coordenada que entra em conta (ex.: latitude/longitude do OSM, que viram o peso das vias)
+    double nextFiniteDouble() {
+        double value = nextDouble();
+        if (!Double.isFinite(value)) throw error("número finito esperado");
+        return value;
+    }
+
+    private double parseSlow(int begin) {
+        try {
+            return Double.parseDouble(text(begin, pos));
+        } catch (NumberFormatException notANumber) {
+            throw error("número esperado");
+        }
+    }
+
+    IllegalArgumentException error(String problem) {
+        int shown = Math.min(end, start + 120);
+        return new IllegalArgumentException(problem + " no byte " + fileOffset + ": \"" + text(start, shown) + "\"");
+    }
+
+    private void skipSeparators() {
+        while (pos < end && isSeparator(bytes[pos])) pos++;
+    }
+
+    private String text(int from, int to) {
+        return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isDigit(byte b) { return b >= '0' && b <= '9'; }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == ',' || b == ';' || b == '\r';
+    }
+}
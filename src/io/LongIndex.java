@@ -0,0 +1,51 @@
+package io;
+
+import java.util.Arrays;
+
+// Mapa long -> int com endereçamento aberto (sondagem linear), sem boxing. Traduz os ids
+// esparsos de 64 bits do OSM para índices 0..n-1. Depois de montado, só leitura: pode ser
+// consultado por várias threads ao mesmo tempo.
+final class LongIndex {
+
+    private final long[] keys;
+    private final int[] values;     // -1 = posição vazia
+    private final int mask;
+
+    LongIndex(int expected) {
+        if (expected > 1 << 29) throw new IllegalArgumentException("Chaves demais: " + expected);
+        // Potência de 2 com no máximo metade das posições ocupadas
+        int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, -1);
+        mask = capacity - 1;
+    }
+
+    // Retorna false se a chave já existia (o valor antigo é mantido)
+    boolean put(long key, int value) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (values[slot] < 0) {
+                keys[slot] = key;
+                values[slot] = value;
+                return true;
+            }
+            if (keys[slot] == key) return false;
+        }
+    }
+
+    // -1 se a chave não existe
+    int get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (values[slot] < 0) return -1;
+            if (keys[slot] == key) return values[slot];
+        }
+    }
+
+    // Mistura do SplitMix64, para ids sequenciais não caírem em posições vizinhas
+    private int slot(long key) {
+        long z = key * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31)) & mask;
+    }
+}
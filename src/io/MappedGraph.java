@@ -0,0 +1,157 @@
+package io;
+
+import model.CsrGraph;
+import model.IndexedGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Grafo lido de um arquivo GraphFile por FileChannel.map: as seções viram buffers diretos sobre
+// o page cache, sem cópia para o heap. Abrir custa só o cabeçalho e os mapeamentos (o SO traz as
+// páginas sob demanda), então um grafo de GBs fica pronto para consulta em milissegundos.
+// Implementa IndexedGraph, então o DijkstraSolver consulta os buffers direto. Somente leitura;
+// o mapeamento vive enquanto o objeto estiver alcançável. Cada seção precisa caber em 2 GB
+// (limite do MappedByteBuffer): até ~536M arestas com pesos inteiros, ~268M com pesos double.
+public final class MappedGraph implements IndexedGraph {
+
+    private final int vertexCount;
+    private final int edgeCount;
+    private final double maxWeight;
+    private final boolean integralWeights;
+
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer intWeights;        // FLAG_INT_WEIGHTS
+    private final DoubleBuffer doubleWeights;  // senão
+    private final DoubleBuffer xs, ys;         // null sem coordenadas
+    private final IntBuffer nameStarts;        // null sem nomes
+    private final ByteBuffer nameBytes;
+
+    private MappedGraph(int vertexCount, int edgeCount, double maxWeight, boolean integralWeights,
+                        IntBuffer offsets, IntBuffer targets, IntBuffer intWeights, DoubleBuffer doubleWeights, DoubleBuffer xs, DoubleBuffer ys,
+                        IntBuffer nameStarts, ByteBuffer nameBytes) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.maxWeight = maxWeight;
+        this.integralWeights = integralWeights;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.intWeights = intWeights;
+        this.doubleWeights = doubleWeights;
+        this.xs = xs;
+        this.ys = ys;
+        this.nameStarts = nameStarts;
+        this.nameBytes = nameBytes;
+    }
+
+    public static MappedGraph open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < GraphFile.HEADER_BYTES) throw new IOException("Arquivo de grafo truncado: " + path);
+
+            ByteBuffer header = map(channel, 0, GraphFile.HEADER_BYTES);
+            if (header.getInt(0) != GraphFile.MAGIC) throw new IOException("Não é um arquivo de grafo: " + path);
+            int version = header.getInt(4);
+            if (version != GraphFile.VERSION) throw new IOException("Versão de arquivo não suportada: " + version);
+            int flags = header.getInt(8);
+            int n = header.getInt(12);
+            long m = header.getLong(16);
+            double maxWeight = header.getDouble(24);
+            long nameLength = header.getLong(32);
+            if (n < 0 || m < 0 || m > Integer.MAX_VALUE || nameLength < 0) throw new IOException("Cabeçalho inválido: " + path);
+
+            long expected = GraphFile.fileSize(n, m, flags, nameLength);
+            if (size != expected) throw new IOException("Tamanho inesperado (" + size + " bytes, esperado " + expected + "): " + path);
+
+            IntBuffer offsets = map(channel, GraphFile.offsetsPosition(), (n + 1L) * Integer.BYTES).asIntBuffer();
+            IntBuffer targets = map(channel, GraphFile.targetsPosition(n), m * Integer.BYTES).asIntBuffer();
+            long weightsAt = GraphFile.weightsPosition(n, m);
+            IntBuffer intWeights = null;
+            DoubleBuffer doubleWeights = null;
+            if ((flags & GraphFile.FLAG_INT_WEIGHTS) != 0) intWeights = map(channel, weightsAt, m * Integer.BYTES).asIntBuffer();
+            else doubleWeights = map(channel, weightsAt, m * Double.BYTES).asDoubleBuffer();
+
+            DoubleBuffer xs = null, ys = null;
+            if ((flags & GraphFile.FLAG_COORDINATES) != 0) {
+                long at = GraphFile.coordinatesPosition(n, m, flags);
+                xs = map(channel, at, (long) n * Double.BYTES).asDoubleBuffer();
+                ys = map(channel, at + (long) n * Double.BYTES, (long) n * Double.BYTES).asDoubleBuffer();
+            }
+
+            IntBuffer nameStarts = null;
+            ByteBuffer nameBytes = null;
+            if ((flags & GraphFile.FLAG_NAMES) != 0) {
+                long at = GraphFile.namesPosition(n, m, flags);
+                nameStarts = map(channel, at, (n + 1L) * Integer.BYTES).asIntBuffer();
+                nameBytes = map(channel, at + (n + 1L) * Integer.BYTES, nameLength);
+            }
+
+            // Só as pontas: validar todos os offsets tocaria o arquivo inteiro
+            if (offsets.get(0) != 0 || offsets.get(n) != m) throw new IOException("Offsets inconsistentes: " + path);
+
+            return new MappedGraph(n, (int) m, maxWeight, (flags & GraphFile.FLAG_INTEGRAL) != 0,
+                    offsets, targets, intWeights, doubleWeights, xs, ys, nameStarts, nameBytes);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) throw new IOException("Seção de " + length + " bytes passa do limite de 2 GB do mapeamento");
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    @Override
+    public int vertexCount() { return vertexCount; }
+    @Override
+    public int edgeCount() { return edgeCount; }
+
+    @Override
+    public int firstEdge(int u) { return offsets.get(u); }
+    @Override
+    public int endEdge(int u) { return offsets.get(u + 1); }
+
+    @Override
+    public int target(int edge) { return targets.get(edge); }
+    @Override
+    public double weight(int edge) { return intWeights != null ? intWeights.get(edge) : doubleWeights.get(edge); }
+
+    @Override
+    public boolean hasIntegralWeights() { return integralWeights; }
+    @Override
+    public double maxWeight() { return maxWeight; }
+
+    public boolean hasCoordinates() { return xs != null; }
+    public double x(int v) { return xs.get(v); }
+    public double y(int v) { return ys.get(v); }
+
+    public boolean hasNames() { return nameStarts != null; }
+
+    // Decodifica o nome sob demanda (null se o arquivo não tem nomes)
+    public String name(int v) {
+        if (nameStarts == null) return null;
+        int start = nameStarts.get(v);
+        byte[] bytes = new byte[nameStarts.get(v + 1) - start];
+        nameBytes.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Copia para o heap, para os solvers que pedem um CsrGraph (CH, delta-stepping, transposto)
+    public CsrGraph toCsrGraph() {
+        int[] offsetArray = new int[vertexCount + 1];
+        int[] targetArray = new int[edgeCount];
+        double[] weightArray = new double[edgeCount];
+        offsets.get(0, offsetArray);
+        targets.get(0, targetArray);
+        for (int e = 0; e < edgeCount; e++) weightArray[e] = weight(e);
+        return new CsrGraph(offsetArray, targetArray, weightArray);
+    }
+}
@@ -0,0 +1,212 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+// Retrato imutável do grafo em formato CSR (Compressed Sparse Row).
+// As arestas que saem do vértice u ocupam o intervalo [offsets[u], offsets[u + 1])
+// dos arrays targets/weights, então percorrer vizinhos é só andar num array de primitivos.
+public final class CsrGraph implements IndexedGraph {
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    // Resumo dos pesos, usado para escolher a fila certa (baldes servem para pesos inteiros)
+    private final boolean integralWeights;
+    private final double maxWeight;
+
+    // Referências para o grafo de objetos que originou o retrato (podem ser null)
+    private final Vertex[] vertices;
+    private final Edge[] edges;
+    private final Map<Vertex, Integer> indexByVertex;
+
+    // Grafo transposto, montado só na primeira vez que alguém precisa buscar "para trás"
+    private volatile CsrGraph transposed;
+
+    public CsrGraph(int[] offsets, int[] targets, double[] weights) {
+        this(offsets, targets, weights, null, null, null);
+    }
+
+    private CsrGraph(int[] offsets, int[] targets, double[] weights,
+                     Vertex[] vertices, Edge[] edges, Map<Vertex, Integer> indexByVertex) {
+        if (offsets.length == 0 || offsets[0] != 0 || offsets[offsets.length - 1] != targets.length) {
+            throw new IllegalArgumentException("Offsets inconsistentes com o número de arestas");
+        }
+        if (targets.length != weights.length) {
+            throw new IllegalArgumentException("targets e weights devem ter o mesmo tamanho");
+        }
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.vertices = vertices;
+        this.edges = edges;
+        this.indexByVertex = indexByVertex;
+
+        boolean integral = true;
+        double max = 0.0;
+        for (double w : weights) {
+            if (w != Math.rint(w) || w < 0 || w > Long.MAX_VALUE) integral = false;
+            if (w > max) max = w;
+        }
+        this.integralWeights = integral;
+        this.maxWeight = max;
+    }
+
+    // Congela o grafo alcançável a partir dos vértices informados.
+    // Vértices que só aparecem como destino de alguma aresta também entram no retrato.
+    public static CsrGraph of(Collection<Vertex> roots) {
+        Map<Vertex, Integer> index = new IdentityHashMap<>();
+        List<Vertex> order = new ArrayList<>();
+        ArrayDeque<Vertex> pending = new ArrayDeque<>();
+
+        for (Vertex v : roots) {
+            if (index.putIfAbsent(v, order.size()) == null) {
+                order.add(v);
+                pending.add(v);
+            }
+        }
+
+        int edgeCount = 0;
+        while (!pending.isEmpty()) {
+            Vertex current = pending.poll();
+            for (Edge e : current.getEdges()) {
+                edgeCount++;
+                Vertex target = e.getTarget();
+                if (index.putIfAbsent(target, order.size()) == null) {
+                    order.add(target);
+                    pending.add(target);
+                }
+            }
+        }
+
+        int n = order.size();
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        Edge[] edges = new Edge[edgeCount];
+
+        int pos = 0;
+        for (int u = 0; u < n; u++) {
+            offsets[u] = pos;
+            for (Edge e : order.get(u).getEdges()) {
+                targets[pos] = index.get(e.getTarget());
+                weights[pos] = e.getWeight();
+                edges[pos] = e;
+                pos++;
+            }
+        }
+        offsets[n] = pos;
+
+        return new CsrGraph(offsets, targets, weights, order.toArray(new Vertex[0]), edges, index);
+    }
+
+    // Caminho inverso de of(): materializa o CSR como Vertex/Edge num Graph novo, com o vértice i
+    // chamado names.apply(i) e posicionado em (xs[i], ys[i]) (xs/ys null = sem posição).
+    // Cria um objeto por aresta: use só em grafos que caibam nesse formato.
+    public List<Vertex> toVertices(IntFunction<String> names, double[] xs, double[] ys) {
+        int n = vertexCount();
+        Graph owner = new Graph();
+        List<Vertex> vertices = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            vertices.add(xs != null ? owner.addVertex(names.apply(i), xs[i], ys[i]) : owner.addVertex(names.apply(i)));
+        }
+        for (int u = 0; u < n; u++) {
+            Vertex source = vertices.get(u);
+            for (int e = offsets[u], last = offsets[u + 1]; e < last; e++) {
+                source.addEdge(vertices.get(targets[e]), weights[e]);
+            }
+        }
+        return vertices;
+    }
+
+    // Retorna o grafo com todas as arestas invertidas (u -> v vira v -> u), com o mesmo peso.
+    // Os índices de vértices são os mesmos; edge(i) do transposto aponta para a aresta original.
+    public CsrGraph transpose() {
+        CsrGraph result = transposed;
+        if (result == null) {
+            synchronized (this) {
+                result = transposed;
+                if (result == null) {
+                    result = buildTranspose();
+                    transposed = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private CsrGraph buildTranspose() {
+        int n = vertexCount();
+        int m = edgeCount();
+        int[] revOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) revOffsets[targets[e] + 1]++;
+        for (int v = 0; v < n; v++) revOffsets[v + 1] += revOffsets[v];
+
+        int[] fill = Arrays.copyOf(revOffsets, n);
+        int[] revTargets = new int[m];
+        double[] revWeights = new double[m];
+        Edge[] revEdges = edges == null ? null : new Edge[m];
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int pos = fill[targets[e]]++;
+                revTargets[pos] = u;
+                revWeights[pos] = weights[e];
+                if (revEdges != null) revEdges[pos] = edges[e];
+            }
+        }
+
+        CsrGraph result = new CsrGraph(revOffsets, revTargets, revWeights, vertices, revEdges, indexByVertex);
+        result.transposed = this;
+        return result;
+    }
+
+    @Override
+    public int vertexCount() { return offsets.length - 1; }
+    @Override
+    public int edgeCount() { return targets.length; }
+
+    // Intervalo de arestas de saída: [firstEdge(u), endEdge(u))
+    @Override
+    public int firstEdge(int u) { return offsets[u]; }
+    @Override
+    public int endEdge(int u) { return offsets[u + 1]; }
+    @Override
+    public int outDegree(int u) { return offsets[u + 1] - offsets[u]; }
+
+    @Override
+    public int target(int edge) { return targets[edge]; }
+    @Override
+    public double weight(int edge) { return weights[edge]; }
+
+    // true se todo peso é um inteiro não negativo (ex.: os pesos 1 a 20 do gerador aleatório)
+    @Override
+    public boolean hasIntegralWeights() { return integralWeights; }
+    @Override
+    public double maxWeight() { return maxWeight; }
+
+    public boolean hasObjects() { return vertices != null; }
+
+    public Vertex vertex(int index) {
+        if (vertices == null) throw new IllegalStateException("Grafo CSR sem referência aos vértices originais");
+        return vertices[index];
+    }
+
+    public Edge edge(int index) {
+        if (edges == null) throw new IllegalStateException("Grafo CSR sem referência às arestas originais");
+        return edges[index];
+    }
+
+    // Retorna -1 se o vértice não faz parte do retrato
+    public int indexOf(Vertex v) {
+        if (indexByVertex == null) return -1;
+        Integer idx = indexByVertex.get(v);
+        return idx == null ? -1 : idx;
+    }
+}
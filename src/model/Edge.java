@@ -2,14 +2,25 @@ package model;
 
 public class Edge {
 
+    private final Vertex source; // vertex that owns the edge (null for a detached edge)
     private Vertex target; // this represents the vertex that the edge is incident on
     private double weight; // this represents how much it will cost to pass through the vertex
+    boolean attached; // está na lista de arestas da origem (o Graph só conta pesos dessas)
 
     public Edge (Vertex target, double weight) {
+        this(null, target, weight);
+    }
+
+    Edge (Vertex source, Vertex target, double weight) {
+        this.source = source;
         this.target = target;
         this.weight = weight;
     }
 
+    public Vertex getSource() {
+        return source;
+    }
+
     public Vertex getTarget() {
         return target;
     }
@@ -19,11 +30,18 @@ public class Edge {
     }
 
     public void setTarget (Vertex target) {
+        if (source != null) Graph.join(source.getGraph(), target.getGraph());
+        // Só mexe no índice reverso se a aresta ainda estiver no grafo
+        if (source != null && this.target.removeIncoming(this)) target.addIncoming(this);
         this.target = target;
+        if (source != null) source.getGraph().changed();
     }
 
     public void setWeight (double weight) {
+        double old = this.weight;
         this.weight = weight;
+        if (attached) source.getGraph().weightChanged(old, weight);
+        else if (source != null) source.getGraph().changed();
     }
 
 }
@@ -0,0 +1,147 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Conjunto de vértices buscados juntos. Cada vértice pertence a exatamente um grafo e recebe
+// dele um id denso em [0, vertexCount()), que os solvers usam para indexar arrays primitivos:
+// o tamanho desses arrays acompanha o grafo consultado, não todos os vértices já criados.
+// Um vértice criado solto (new Vertex) começa num grafo implícito só dele; quando uma aresta o
+// liga a outro grafo, o implícito é absorvido (e os ids dos vértices dele mudam). Dois grafos
+// criados com new Graph() nunca se misturam. Remover um vértice move o último para a vaga,
+// então os ids continuam densos.
+// Cada grafo tem a sua versão, que muda a cada alteração de aresta ou de vértices dele: quem
+// guarda resultados derivados (caches, snapshots) compara a versão para saber se ainda valem.
+// Também acompanha os pesos das arestas (se todos são inteiros e o maior deles), o que deixa o
+// DijkstraSolver escolher a fila de baldes sem varrer o grafo a cada consulta.
+public final class Graph {
+
+    private final List<Vertex> vertices = new ArrayList<>();
+    private final List<Vertex> verticesView = Collections.unmodifiableList(vertices);
+    private final boolean implicit;
+    private long renumberings;
+    // Um escritor por vez (como as listas de arestas); volatile para leitores em outras threads
+    private volatile long version;
+
+    // Arestas presentes, quantas têm peso não inteiro (ou negativo) e um limite superior do maior
+    // peso: remover a aresta mais pesada não o reduz (só custa baldes a mais), até o grafo ficar sem arestas
+    private int edgeCount;
+    private int fractionalEdges;
+    private double maxWeight;
+
+    public Graph() {
+        this(false);
+    }
+
+    Graph(boolean implicit) {
+        this.implicit = implicit;
+    }
+
+    public Vertex addVertex(String name) {
+        return new Vertex(name, this);
+    }
+
+    public Vertex addVertex(String name, double x, double y) {
+        Vertex vertex = new Vertex(name, this);
+        vertex.setPosition(x, y);
+        return vertex;
+    }
+
+    // Traz um vértice solto (com tudo o que já estiver ligado a ele) para este grafo
+    public void add(Vertex vertex) {
+        Graph other = vertex.getGraph();
+        if (other == this) return;
+        if (!other.implicit) throw new IllegalArgumentException("Vértice já pertence a outro grafo");
+        absorb(other);
+    }
+
+    // Tira o vértice e todas as arestas dele; o último vértice assume o id que ficou livre
+    public boolean removeVertex(Vertex vertex) {
+        if (vertex.getGraph() != this) return false;
+        for (Edge edge : new ArrayList<>(vertex.getEdges())) vertex.removeEdge(edge);
+        for (Edge edge : new ArrayList<>(vertex.getIncomingEdges())) edge.getSource().removeEdge(edge);
+
+        int id = vertex.getId();
+        Vertex last = vertices.remove(vertices.size() - 1);
+        if (last != vertex) {
+            vertices.set(id, last);
+            last.assign(this, id);
+        }
+        new Graph(true).attach(vertex);
+        renumberings++;
+        changed();
+        return true;
+    }
+
+    public int vertexCount() { return vertices.size(); }
+
+    // Somente leitura, na ordem dos ids
+    public List<Vertex> getVertices() { return verticesView; }
+
+    public boolean contains(Vertex vertex) { return vertex.getGraph() == this; }
+
+    // Quantas vezes ids deste grafo mudaram (remoções). Quem guarda dados por id entre
+    // alterações compara este número e o grafo do vértice para saber se precisa refazer tudo.
+    public long renumberings() { return renumberings; }
+
+    public long version() { return version; }
+
+    // Todos os pesos são inteiros >= 0 (mesmo critério do CsrGraph.hasIntegralWeights)
+    public boolean hasIntegralWeights() { return fractionalEdges == 0; }
+
+    public double maxWeight() { return maxWeight; }
+
+    void changed() { version++; }
+
+    // Chamados por Vertex.addEdge/removeEdge e Edge.setWeight, só para arestas presentes no grafo
+    void edgeAdded(Edge edge) {
+        edge.attached = true;
+        edgeCount++;
+        weightChanged(0.0, edge.getWeight());
+    }
+
+    void edgeRemoved(Edge edge) {
+        edge.attached = false;
+        if (!integral(edge.getWeight())) fractionalEdges--;
+        if (--edgeCount == 0) maxWeight = 0.0;
+        changed();
+    }
+
+    void weightChanged(double oldWeight, double newWeight) {
+        if (!integral(oldWeight)) fractionalEdges--;
+        if (!integral(newWeight)) fractionalEdges++;
+        if (newWeight > maxWeight) maxWeight = newWeight;
+        changed();
+    }
+
+    private static boolean integral(double weight) {
+        return weight == Math.rint(weight) && weight >= 0 && weight <= Long.MAX_VALUE;
+    }
+
+    void attach(Vertex vertex) {
+        vertex.assign(this, vertices.size());
+        vertices.add(vertex);
+    }
+
+    // Chamado antes de criar uma aresta entre os grafos de 'a' e 'b': o implícito (o menor, se
+    // os dois forem) passa para o outro
+    static void join(Graph a, Graph b) {
+        if (a == b) return;
+        if (a.implicit && (!b.implicit || a.vertices.size() <= b.vertices.size())) b.absorb(a);
+        else if (b.implicit) a.absorb(b);
+        else throw new IllegalArgumentException("Aresta entre vértices de grafos diferentes");
+    }
+
+    private void absorb(Graph other) {
+        for (Vertex vertex : other.vertices) attach(vertex);
+        other.vertices.clear();
+        edgeCount += other.edgeCount;
+        fractionalEdges += other.fractionalEdges;
+        maxWeight = Math.max(maxWeight, other.maxWeight);
+        other.edgeCount = other.fractionalEdges = 0;
+        other.maxWeight = 0.0;
+        other.changed();
+        changed();
+    }
+}
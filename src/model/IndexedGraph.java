@@ -0,0 +1,22 @@
+package model;
+
+// Grafo visto só pelos índices: vértices 0..n-1 e arestas de saída de u no intervalo
+// [firstEdge(u), endEdge(u)). CsrGraph (arrays no heap) e io.MappedGraph (arquivo mapeado em
+// memória) implementam; os laços CSR dos solvers só dependem disto.
+public interface IndexedGraph {
+
+    int vertexCount();
+    int edgeCount();
+
+    int firstEdge(int u);
+    int endEdge(int u);
+
+    default int outDegree(int u) { return endEdge(u) - firstEdge(u); }
+
+    int target(int edge);
+    double weight(int edge);
+
+    // true se todo peso é um inteiro não negativo (habilita as filas de baldes)
+    boolean hasIntegralWeights();
+    double maxWeight();
+}
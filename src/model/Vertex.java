@@ -1,23 +1,91 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class Vertex {
+    // Grafo dono do vértice e o índice denso dele lá: os solvers indexam arrays primitivos por id
+    private Graph graph;
+    private int id;
     private String name;
     private List<Edge> edges;
+    private final List<Edge> edgesView;
+    // Índice reverso: arestas que chegam aqui (mantido por addEdge/removeEdge/Edge.setTarget)
+    private final List<Edge> incoming;
+    private final List<Edge> incomingView;
 
+    // Posição no plano (layout na tela ou coordenada geográfica). NaN = sem posição.
+    private double x = Double.NaN;
+    private double y = Double.NaN;
+
+    // Vértice solto, num grafo implícito só dele (veja Graph)
     public Vertex(String name) {
+        this(name, new Graph(true));
+    }
+
+    // O Graph só guarda a referência; nada do vértice é lido antes do fim do construtor
+    @SuppressWarnings("this-escape")
+    Vertex(String name, Graph graph) {
         this.name = name;
         this.edges = new ArrayList<>();
+        this.edgesView = Collections.unmodifiableList(edges);
+        this.incoming = new ArrayList<>();
+        this.incomingView = Collections.unmodifiableList(incoming);
+        graph.attach(this);
+    }
+
+    public Vertex(String name, double x, double y) {
+        this(name);
+        this.x = x;
+        this.y = y;
+    }
+
+    public Edge addEdge(Vertex target, double weight) {
+        Graph.join(graph, target.graph);
+        Edge edge = new Edge(this, target, weight);
+        this.edges.add(edge);
+        target.incoming.add(edge);
+        graph.edgeAdded(edge);
+        return edge;
+    }
+
+    // O(grau de saída + grau de entrada do destino)
+    public boolean removeEdge(Edge edge) {
+        boolean removed = this.edges.remove(edge);
+        if (removed) {
+            edge.getTarget().incoming.remove(edge);
+            graph.edgeRemoved(edge);
+        }
+        return removed;
     }
 
-    public void addEdge(Vertex target, double weight) {
-        this.edges.add(new Edge(target, weight));
+    // Usados por Edge.setTarget para mover a aresta entre os índices reversos
+    boolean removeIncoming(Edge edge) { return incoming.remove(edge); }
+    void addIncoming(Edge edge) { incoming.add(edge); }
+
+    // Usado pelo Graph ao incluir o vértice ou renumerar os ids
+    void assign(Graph graph, int id) {
+        this.graph = graph;
+        this.id = id;
     }
 
+    // Índice em [0, getGraph().vertexCount()); muda se o vértice trocar de grafo ou se outro for removido
+    public int getId() { return id; }
+    public Graph getGraph() { return graph; }
     public String getName() { return name; }
-    public List<Edge> getEdges() { return edges; }
+    // Somente leitura: alterações passam por addEdge/removeEdge, que mudam a versão do grafo
+    public List<Edge> getEdges() { return edgesView; }
+    // Arestas que chegam a este vértice (a origem de cada uma é Edge.getSource())
+    public List<Edge> getIncomingEdges() { return incomingView; }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public boolean hasPosition() { return !Double.isNaN(x) && !Double.isNaN(y); }
+
+    public void setPosition(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
 
     public void setName (String name) {
         if (name == null || name.trim().isEmpty()) throw new IllegalArgumentException("Nome inválido");